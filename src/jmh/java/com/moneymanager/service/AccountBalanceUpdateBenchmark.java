@@ -0,0 +1,92 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Account;
+import com.moneymanager.repository.AccountRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 2,000 balance updates to one account from 16 threads: the single atomic UPDATE against the entity
+// read-modify-write it replaced, made safe with the version column and retries.
+// Hibernate logs every lost optimistic-lock race of the baseline at ERROR, hence the muted logger.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class AccountBalanceUpdateBenchmark {
+    
+    private static final int WRITES = 2_000;
+    private static final int THREADS = 16;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+    private static final String ACCOUNT = "Cash Wallet";
+    
+    private ConfigurableApplicationContext context;
+    private AccountService accountService;
+    private AccountRepository accountRepository;
+    private TransactionTemplate transactionTemplate;
+    private ExecutorService executor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("logging.level.org.hibernate.orm.jdbc.batch=OFF");
+        accountService = context.getBean(AccountService.class);
+        accountRepository = context.getBean(AccountRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+        accountService.createAccount(ACCOUNT, BigDecimal.ZERO, Account.AccountType.CASH);
+        executor = Executors.newFixedThreadPool(THREADS);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+    
+    @Benchmark
+    public int atomicUpdate() throws Exception {
+        return run(() -> accountService.updateBalance(ACCOUNT, AMOUNT));
+    }
+    
+    @Benchmark
+    public int readModifyWrite() throws Exception {
+        return run(this::readModifyWriteOnce);
+    }
+    
+    // The pre-atomic path: load the account, add in Java, save; a concurrent writer makes the save fail and retry
+    private void readModifyWriteOnce() {
+        while (true) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Account account = accountRepository.findByAccountName(ACCOUNT).orElseThrow();
+                    account.setBalance(account.getBalance().add(AMOUNT));
+                    accountRepository.saveAndFlush(account);
+                });
+                return;
+            } catch (ObjectOptimisticLockingFailureException ex) {
+                // Lost the race for this version; read the new balance and try again
+            }
+        }
+    }
+    
+    private int run(Runnable write) throws Exception {
+        List<Future<?>> futures = new ArrayList<>(WRITES);
+        for (int i = 0; i < WRITES; i++) {
+            futures.add(executor.submit(write));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return futures.size();
+    }
+}
@@ -0,0 +1,82 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A full 1,000-row import: one POST /api/transactions/batch against one single create per row
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BatchImportBenchmark {
+    
+    private static final int ROWS = 1_000;
+    private static final String[] ACCOUNTS = {"Main Savings", "Cash Wallet", "Credit Card"};
+    private static final String[] CATEGORIES = {"Food", "Fuel", "Movie", "Rent", "Medical"};
+    
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionService transactionService;
+    private List<TransactionRequestDTO> requests;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionService = context.getBean(TransactionService.class);
+        AccountService accountService = context.getBean(AccountService.class);
+        for (String account : ACCOUNTS) {
+            accountService.createAccount(account, BigDecimal.valueOf(1_000_000), Account.AccountType.BANK);
+        }
+        
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        requests = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            TransactionRequestDTO request = new TransactionRequestDTO();
+            request.setType(Transaction.TransactionType.EXPENSE);
+            request.setAmount(BigDecimal.valueOf(100 + i, 2));
+            request.setCategory(CATEGORIES[i % CATEGORIES.length]);
+            request.setDivision(i % 2 == 0 ? Transaction.Division.PERSONAL : Transaction.Division.OFFICE);
+            request.setDescription("Imported statement line " + i);
+            request.setTransactionDate(now.minusMinutes(i));
+            request.setFromAccount(ACCOUNTS[i % ACCOUNTS.length]);
+            requests.add(request);
+        }
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetLedger() {
+        jdbcTemplate.update("DELETE FROM transactions");
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public List<?> batch() {
+        return transactionService.createTransactions(requests);
+    }
+    
+    // The import without the batch endpoint: a transaction, an insert and a balance update per row
+    @Benchmark
+    public int createTransactionPerRow() {
+        for (TransactionRequestDTO request : requests) {
+            transactionService.createTransaction(request);
+        }
+        return requests.size();
+    }
+}
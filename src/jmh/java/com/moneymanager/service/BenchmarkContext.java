@@ -0,0 +1,148 @@
+package com.moneymanager.service;
+
+import com.moneymanager.MoneyManagerApplication;
+import com.moneymanager.model.Transaction;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+// Boots the application against an in-memory H2 database in Oracle mode and generates synthetic ledgers
+final class BenchmarkContext {
+    
+    static final LocalDateTime LEDGER_END = LocalDateTime.of(2025, 1, 1, 0, 0);
+    static final LocalDateTime LEDGER_START = LEDGER_END.minusYears(1);
+    
+    private static final String[] INCOME_CATEGORIES = {"Salary", "Freelance", "Interest", "Dividends", "Refund"};
+    private static final String[] EXPENSE_CATEGORIES = {
+        "Food", "Fuel", "Movie", "Rent", "Medical", "Travel", "Utilities", "Shopping", "Education", "Loan"
+    };
+    private static final String[] ACCOUNTS = {"Main Savings", "Cash Wallet", "Credit Card"};
+    private static final int INSERT_BATCH_SIZE = 5_000;
+    
+    private BenchmarkContext() {
+    }
+    
+    static ConfigurableApplicationContext start(String... extraProperties) {
+        return builder().run(arguments(extraProperties));
+    }
+    
+    // Every statement sleeps for the given latency while holding its connection, standing in for a slow Oracle
+    static ConfigurableApplicationContext startWithSlowDatabase(Duration latency, String... extraProperties) {
+        return builder()
+            .initializers(context -> context.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? SlowDataSource.wrap(dataSource, latency) : bean;
+                }
+            }))
+            .run(arguments(extraProperties));
+    }
+    
+    private static SpringApplicationBuilder builder() {
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        return new SpringApplicationBuilder(MoneyManagerApplication.class);
+    }
+    
+    // Passed as command-line arguments: builder properties are only defaults, and application.properties would
+    // override them with the Oracle datasource
+    private static String[] arguments(String... extraProperties) {
+        List<String> properties = new ArrayList<>(List.of(
+            "spring.main.web-application-type=none",
+            "spring.main.banner-mode=off",
+            "spring.datasource.url=jdbc:h2:mem:benchmark;MODE=Oracle;DB_CLOSE_DELAY=-1",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=none",
+            "spring.jpa.show-sql=false",
+            "spring.jpa.properties.hibernate.format_sql=false",
+            "moneymanager.editability.sweep-interval=PT24H",
+            "moneymanager.search.index-path=" + temporaryIndexPath(),
+            "logging.level.root=WARN",
+            "logging.level.org.hibernate.SQL=WARN",
+            "logging.level.com.moneymanager=WARN"
+        ));
+        properties.addAll(List.of(extraProperties));
+        return properties.stream().map(property -> "--" + property).toArray(String[]::new);
+    }
+    
+    // Each context gets its own search index directory, so contexts never contend for the index write lock
+    private static Path temporaryIndexPath() {
+        try {
+            return Files.createTempDirectory("money-manager-search");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    static List<Transaction> syntheticTransactions(int rows) {
+        SplittableRandom random = new SplittableRandom(42);
+        long spanSeconds = Duration.between(LEDGER_START, LEDGER_END).getSeconds();
+        LocalDateTime now = LocalDateTime.now();
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(5) == 0;
+            Transaction transaction = new Transaction();
+            transaction.setId((long) i + 1);
+            transaction.setType(income ? Transaction.TransactionType.INCOME : Transaction.TransactionType.EXPENSE);
+            transaction.setAmount(BigDecimal.valueOf(random.nextLong(100, 5_000_000), 2));
+            transaction.setCategory(income
+                ? INCOME_CATEGORIES[random.nextInt(INCOME_CATEGORIES.length)]
+                : EXPENSE_CATEGORIES[random.nextInt(EXPENSE_CATEGORIES.length)]);
+            transaction.setDivision(random.nextBoolean() ? Transaction.Division.PERSONAL : Transaction.Division.OFFICE);
+            transaction.setDescription("Synthetic transaction " + i);
+            transaction.setTransactionDate(LEDGER_START.plusSeconds(random.nextLong(spanSeconds)));
+            if (income) {
+                transaction.setToAccount(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            } else {
+                transaction.setFromAccount(ACCOUNTS[random.nextInt(ACCOUNTS.length)]);
+            }
+            // A small share of rows stays inside the 12 hour edit window
+            transaction.setCreatedAt(random.nextInt(20) == 0 ? now.minusMinutes(random.nextInt(600)) : transaction.getTransactionDate());
+            transaction.setUpdatedAt(transaction.getCreatedAt());
+            transaction.setIsEditable(true);
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+    
+    static void insert(ConfigurableApplicationContext context, List<Transaction> transactions) {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        CategoryDictionary categoryDictionary = context.getBean(CategoryDictionary.class);
+        transactions.forEach(transaction -> categoryDictionary.register(transaction.getType(), transaction.getCategory()));
+        jdbcTemplate.update("DELETE FROM transactions");
+        String sql = "INSERT INTO transactions (id, type, amount, category_id, division, description, transaction_date, " +
+                     "from_account, to_account, created_at, updated_at, is_editable) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+        for (int from = 0; from < transactions.size(); from += INSERT_BATCH_SIZE) {
+            List<Transaction> batch = transactions.subList(from, Math.min(from + INSERT_BATCH_SIZE, transactions.size()));
+            jdbcTemplate.batchUpdate(sql, batch, batch.size(), (statement, transaction) -> {
+                statement.setLong(1, transaction.getId());
+                statement.setString(2, transaction.getType().name());
+                statement.setBigDecimal(3, transaction.getAmount());
+                statement.setLong(4, categoryDictionary.idOf(transaction.getCategory()));
+                statement.setString(5, transaction.getDivision().name());
+                statement.setString(6, transaction.getDescription());
+                statement.setTimestamp(7, Timestamp.valueOf(transaction.getTransactionDate()));
+                statement.setString(8, transaction.getFromAccount());
+                statement.setString(9, transaction.getToAccount());
+                statement.setTimestamp(10, Timestamp.valueOf(transaction.getCreatedAt()));
+                statement.setTimestamp(11, Timestamp.valueOf(transaction.getUpdatedAt()));
+                statement.setBoolean(12, transaction.getIsEditable());
+            });
+        }
+    }
+}
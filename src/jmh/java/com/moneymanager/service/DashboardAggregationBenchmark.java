@@ -0,0 +1,60 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.DashboardSummaryDTO;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.TransactionRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class DashboardAggregationBenchmark {
+    
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private TransactionRepository transactionRepository;
+    private List<Transaction> transactions;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionService = context.getBean(TransactionService.class);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactions = BenchmarkContext.syntheticTransactions(rows);
+        BenchmarkContext.insert(context, transactions);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // Every row of the range folded in Java, as the dashboard originally did
+    @Benchmark
+    public DashboardSummaryDTO inMemoryAggregation() {
+        return transactionService.summarizeInMemory(transactions);
+    }
+    
+    // Loading the range from the database and folding it, as the dashboard used to
+    @Benchmark
+    public DashboardSummaryDTO loadAndAggregateInMemory() {
+        return transactionService.summarizeInMemory(
+            transactionRepository.findByTransactionDateBetween(BenchmarkContext.LEDGER_START, BenchmarkContext.LEDGER_END));
+    }
+    
+    // The dashboard as served, bypassing the cache
+    @Benchmark
+    public DashboardSummaryDTO databaseAggregation() {
+        return transactionService.aggregateDashboardSummary(BenchmarkContext.LEDGER_START, BenchmarkContext.LEDGER_END);
+    }
+}
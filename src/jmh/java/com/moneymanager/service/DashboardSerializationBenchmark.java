@@ -0,0 +1,41 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.moneymanager.dto.DashboardSummaryDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class DashboardSerializationBenchmark {
+    
+    private ConfigurableApplicationContext context;
+    private ObjectWriter writer;
+    private DashboardSummaryDTO summary;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        writer = context.getBean(ObjectMapper.class).writerFor(DashboardSummaryDTO.class);
+        summary = context.getBean(TransactionService.class)
+            .summarizeInMemory(BenchmarkContext.syntheticTransactions(10_000));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public byte[] serializeDashboardSummary() throws JsonProcessingException {
+        return writer.writeValueAsBytes(summary);
+    }
+}
@@ -0,0 +1,64 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// Folding a million rows into per-category totals; compare gc.alloc.rate.norm between the two
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class MoneyAccumulatorBenchmark {
+    
+    private static final int ROWS = 1_000_000;
+    
+    private List<Transaction> transactions;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        transactions = BenchmarkContext.syntheticTransactions(ROWS);
+    }
+    
+    // The previous fold: a new BigDecimal per add and a boxed merge per row
+    @Benchmark
+    public void bigDecimalMaps(Blackhole blackhole) {
+        BigDecimal totalIncome = BigDecimal.ZERO;
+        BigDecimal totalExpense = BigDecimal.ZERO;
+        Map<String, BigDecimal> categoryWiseIncome = new HashMap<>();
+        Map<String, BigDecimal> categoryWiseExpense = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            if (transaction.getType() == Transaction.TransactionType.INCOME) {
+                totalIncome = totalIncome.add(transaction.getAmount());
+                categoryWiseIncome.merge(transaction.getCategory(), transaction.getAmount(), BigDecimal::add);
+            } else if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
+                totalExpense = totalExpense.add(transaction.getAmount());
+                categoryWiseExpense.merge(transaction.getCategory(), transaction.getAmount(), BigDecimal::add);
+            }
+        }
+        blackhole.consume(totalIncome);
+        blackhole.consume(totalExpense);
+        blackhole.consume(categoryWiseIncome);
+        blackhole.consume(categoryWiseExpense);
+    }
+    
+    @Benchmark
+    public void longCents(Blackhole blackhole) {
+        MoneyAccumulator totals = new MoneyAccumulator();
+        for (Transaction transaction : transactions) {
+            totals.add(transaction.getType(), transaction.getCategory(), transaction.getAmount());
+        }
+        blackhole.consume(totals.totalIncome());
+        blackhole.consume(totals.totalExpense());
+        blackhole.consume(totals.categoryWiseIncome());
+        blackhole.consume(totals.categoryWiseExpense());
+    }
+}
@@ -0,0 +1,72 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.TransactionReads;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Run with -prof gc (the jmh profile default): gc.alloc.rate.norm is the heap allocated per request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class ReadPathAllocationBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    @Param({"50", "200"})
+    private int pageSize;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionService = context.getBean(TransactionService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        BenchmarkContext.insert(context, BenchmarkContext.syntheticTransactions(ROWS));
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // The previous read path: the same keyset query loading managed entities in a read-write transaction, copied
+    // into DTOs, so the two differ only in what is materialized
+    @Benchmark
+    public List<TransactionDTO> managedEntities() {
+        return transactionTemplate.execute(status -> {
+            LocalDateTime cutoff = TransactionService.editCutoff();
+            return entityManager
+                .createQuery("SELECT t FROM Transaction t WHERE " + TransactionReads.KEYSET_BEFORE_CURSOR
+                    + TransactionReads.KEYSET_ORDER, Transaction.class)
+                .setParameter("cursorDate", TransactionCursor.FIRST.transactionDate())
+                .setParameter("cursorId", TransactionCursor.FIRST.id())
+                .setMaxResults(pageSize + 1)
+                .getResultList().stream()
+                .map(transaction -> transactionService.convertToDTO(transaction, cutoff))
+                .collect(Collectors.toList());
+        });
+    }
+    
+    @Benchmark
+    public List<TransactionDTO> dtoProjection() {
+        return transactionService.getTransactionsPage(null, pageSize).getTransactions();
+    }
+}
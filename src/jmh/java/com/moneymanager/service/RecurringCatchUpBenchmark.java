@@ -0,0 +1,90 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.RecurringTemplateRequestDTO;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// 10,000 missed occurrences of one template: the batched scheduler against one createTransaction call per occurrence
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RecurringCatchUpBenchmark {
+    
+    private static final int MISSED_OCCURRENCES = 10_000;
+    private static final Duration INTERVAL = Duration.ofMinutes(1);
+    private static final String ACCOUNT = "Main Savings";
+    
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionService transactionService;
+    private RecurringTransactionService recurringTransactionService;
+    private RecurringTransactionScheduler scheduler;
+    private LocalDateTime startsAt;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start("moneymanager.recurring.poll-interval=PT24H");
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        transactionService = context.getBean(TransactionService.class);
+        recurringTransactionService = context.getBean(RecurringTransactionService.class);
+        scheduler = context.getBean(RecurringTransactionScheduler.class);
+        context.getBean(AccountService.class).createAccount(ACCOUNT, BigDecimal.valueOf(1_000_000), Account.AccountType.BANK);
+    }
+    
+    @Setup(Level.Invocation)
+    public void resetLedger() {
+        jdbcTemplate.update("DELETE FROM transactions");
+        jdbcTemplate.update("DELETE FROM recurring_templates");
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        startsAt = now.minus(INTERVAL.multipliedBy(MISSED_OCCURRENCES - 1));
+        
+        RecurringTemplateRequestDTO template = new RecurringTemplateRequestDTO();
+        template.setType(Transaction.TransactionType.EXPENSE);
+        template.setAmount(BigDecimal.valueOf(1999, 2));
+        template.setCategory("Subscriptions");
+        template.setDivision(Transaction.Division.PERSONAL);
+        template.setDescription("Streaming subscription");
+        template.setFromAccount(ACCOUNT);
+        template.setInterval(INTERVAL);
+        template.setStartsAt(startsAt);
+        recurringTransactionService.createTemplate(template);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public void batchedScheduler() {
+        scheduler.generate();
+    }
+    
+    // What catching up would cost without templates: every occurrence posted through the single-create path
+    @Benchmark
+    public void createTransactionPerOccurrence() {
+        for (int i = 0; i < MISSED_OCCURRENCES; i++) {
+            TransactionRequestDTO request = new TransactionRequestDTO();
+            request.setType(Transaction.TransactionType.EXPENSE);
+            request.setAmount(BigDecimal.valueOf(1999, 2));
+            request.setCategory("Subscriptions");
+            request.setDivision(Transaction.Division.PERSONAL);
+            request.setDescription("Streaming subscription");
+            request.setTransactionDate(startsAt.plus(INTERVAL.multipliedBy(i)));
+            request.setFromAccount(ACCOUNT);
+            transactionService.createTransaction(request);
+        }
+    }
+}
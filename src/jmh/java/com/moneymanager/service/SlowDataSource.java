@@ -0,0 +1,55 @@
+package com.moneymanager.service;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+
+// Datasource stub that delays every statement execution, to model database latency in load benchmarks
+final class SlowDataSource {
+    
+    private static final Set<String> EXECUTE_METHODS = Set.of(
+        "execute", "executeQuery", "executeUpdate", "executeLargeUpdate", "executeBatch", "executeLargeBatch"
+    );
+    
+    private SlowDataSource() {
+    }
+    
+    static DataSource wrap(DataSource dataSource, Duration latency) {
+        return (DataSource) proxy(DataSource.class, dataSource, latency);
+    }
+    
+    private static Object proxy(Class<?> type, Object target, Duration latency) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (target instanceof Statement && EXECUTE_METHODS.contains(method.getName())) {
+                Thread.sleep(latency);
+            }
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException ex) {
+                throw ex.getCause();
+            }
+            if (result instanceof Connection) {
+                return proxy(Connection.class, result, latency);
+            }
+            if (result instanceof CallableStatement) {
+                return proxy(CallableStatement.class, result, latency);
+            }
+            if (result instanceof PreparedStatement) {
+                return proxy(PreparedStatement.class, result, latency);
+            }
+            if (result instanceof Statement) {
+                return proxy(Statement.class, result, latency);
+            }
+            return result;
+        };
+        return Proxy.newProxyInstance(SlowDataSource.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
@@ -0,0 +1,81 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.moneymanager.config.CompactTransactionConverter;
+import com.moneymanager.dto.TransactionDTO;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Encoding a 100k-row listing: the default JSON body, Jackson's generic CBOR of the same DTOs, and the compact
+// dictionary-encoded CBOR. Each benchmark returns the payload size; setUp prints the sizes once for comparison.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionListEncodingBenchmark {
+    
+    private static final int ROWS = 100_000;
+    
+    private ConfigurableApplicationContext context;
+    private ObjectWriter jsonWriter;
+    private ObjectWriter cborWriter;
+    private CompactTransactionConverter compactConverter;
+    private List<TransactionDTO> transactions;
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream(64 * 1024 * 1024);
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        context = BenchmarkContext.start();
+        ObjectMapper objectMapper = context.getBean(ObjectMapper.class);
+        ObjectMapper cborMapper = context.getBean(Jackson2ObjectMapperBuilder.class).factory(new CBORFactory()).build();
+        jsonWriter = objectMapper.writerFor(objectMapper.getTypeFactory().constructCollectionType(List.class, TransactionDTO.class));
+        cborWriter = cborMapper.writerFor(cborMapper.getTypeFactory().constructCollectionType(List.class, TransactionDTO.class));
+        compactConverter = context.getBean(CompactTransactionConverter.class);
+        
+        TransactionService transactionService = context.getBean(TransactionService.class);
+        LocalDateTime cutoff = TransactionService.editCutoff();
+        transactions = BenchmarkContext.syntheticTransactions(ROWS).stream()
+            .map(transaction -> transactionService.convertToDTO(transaction, cutoff))
+            .toList();
+        
+        System.out.printf("Payload for %d rows: JSON %d bytes, CBOR %d bytes, compact CBOR %d bytes%n",
+            ROWS, json(), cbor(), compact());
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    public int json() throws IOException {
+        buffer.reset();
+        jsonWriter.writeValue(buffer, transactions);
+        return buffer.size();
+    }
+    
+    @Benchmark
+    public int cbor() throws IOException {
+        buffer.reset();
+        cborWriter.writeValue(buffer, transactions);
+        return buffer.size();
+    }
+    
+    @Benchmark
+    public int compact() throws IOException {
+        buffer.reset();
+        compactConverter.write(transactions, null, null, buffer);
+        return buffer.size();
+    }
+}
@@ -0,0 +1,57 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.Transaction;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class TransactionMappingBenchmark {
+    
+    private static final int ROWS = 10_000;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<Transaction> transactions;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionService = context.getBean(TransactionService.class);
+        transactions = BenchmarkContext.syntheticTransactions(ROWS);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void convertToDTO(Blackhole blackhole) {
+        LocalDateTime cutoff = TransactionService.editCutoff();
+        for (Transaction transaction : transactions) {
+            TransactionDTO dto = transactionService.convertToDTO(transaction, cutoff);
+            blackhole.consume(dto);
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void isEditable(Blackhole blackhole) {
+        LocalDateTime cutoff = TransactionService.editCutoff();
+        for (Transaction transaction : transactions) {
+            blackhole.consume(TransactionService.isEditable(transaction, cutoff));
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.Transaction;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// SampleTime reports percentiles: p0.99 of indexSearch is the number the search endpoint is held to
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class TransactionSearchBenchmark {
+    
+    private static final int ROWS = 1_000_000;
+    private static final int RESULTS = 20;
+    private static final String[] MERCHANTS = {
+        "grocery", "pharmacy", "bakery", "petrol", "cinema", "restaurant", "bookstore", "hardware", "florist", "taxi",
+        "airline", "hotel", "gym", "clinic", "electricity", "water", "internet", "insurance", "school", "stationery"
+    };
+    private static final String[] PLACES = {
+        "chennai", "mumbai", "delhi", "kolkata", "pune", "hyderabad", "bangalore", "kochi", "jaipur", "lucknow"
+    };
+    
+    private ConfigurableApplicationContext context;
+    private TransactionSearchService transactionSearchService;
+    private EntityManager entityManager;
+    private TransactionTemplate transactionTemplate;
+    private SplittableRandom random;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.start();
+        transactionSearchService = context.getBean(TransactionSearchService.class);
+        entityManager = context.getBean(EntityManager.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        
+        List<Transaction> transactions = BenchmarkContext.syntheticTransactions(ROWS);
+        SplittableRandom descriptions = new SplittableRandom(7);
+        for (Transaction transaction : transactions) {
+            transaction.setDescription(MERCHANTS[descriptions.nextInt(MERCHANTS.length)] + " "
+                + PLACES[descriptions.nextInt(PLACES.length)] + " receipt " + descriptions.nextInt(100_000));
+        }
+        BenchmarkContext.insert(context, transactions);
+        transactionSearchService.rebuild();
+        random = new SplittableRandom(42);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+    
+    // Ranked ids from the index alone, with the type and date filters applied inside it
+    @Benchmark
+    public List<Long> indexSearch() {
+        return transactionSearchService.searchIds(nextQuery(), Transaction.TransactionType.EXPENSE, null,
+            BenchmarkContext.LEDGER_START, BenchmarkContext.LEDGER_END.minusMonths(6), RESULTS);
+    }
+    
+    // The endpoint path: index search plus one primary-key lookup for the page of rows
+    @Benchmark
+    public List<TransactionDTO> searchWithRows() {
+        return transactionSearchService.search(nextQuery(), Transaction.TransactionType.EXPENSE, null,
+            BenchmarkContext.LEDGER_START, BenchmarkContext.LEDGER_END.minusMonths(6), RESULTS);
+    }
+    
+    // What the search would otherwise be: a LIKE scan over every description in the range
+    @Benchmark
+    public List<Long> likeScan() {
+        String[] words = nextQuery().split(" ");
+        return transactionTemplate.execute(status -> entityManager
+            .createQuery("SELECT t.id FROM Transaction t WHERE LOWER(t.description) LIKE :first " +
+                         "AND LOWER(t.description) LIKE :second AND t.type = :type " +
+                         "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC", Long.class)
+            .setParameter("first", "%" + words[0] + "%")
+            .setParameter("second", "%" + words[1] + "%")
+            .setParameter("type", Transaction.TransactionType.EXPENSE)
+            .setParameter("startDate", BenchmarkContext.LEDGER_START)
+            .setParameter("endDate", BenchmarkContext.LEDGER_END.minusMonths(6))
+            .setMaxResults(RESULTS)
+            .getResultList());
+    }
+    
+    private String nextQuery() {
+        return MERCHANTS[random.nextInt(MERCHANTS.length)] + " " + PLACES[random.nextInt(PLACES.length)];
+    }
+}
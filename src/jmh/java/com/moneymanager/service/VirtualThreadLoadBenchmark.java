@@ -0,0 +1,71 @@
+package com.moneymanager.service;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+// 5,000 concurrent dashboard requests against a datasource with 20 ms per statement,
+// served either by a Tomcat-sized platform pool or by one virtual thread per request
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djdk.tracePinnedThreads=short"})
+public class VirtualThreadLoadBenchmark {
+    
+    private static final int CONCURRENT_REQUESTS = 5_000;
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final Duration STATEMENT_LATENCY = Duration.ofMillis(20);
+    
+    @Param({"PLATFORM", "VIRTUAL"})
+    private String threads;
+    
+    @Param({"20", "100"})
+    private int poolSize;
+    
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private ExecutorService executor;
+    
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkContext.startWithSlowDatabase(
+            STATEMENT_LATENCY,
+            "spring.datasource.hikari.maximum-pool-size=" + poolSize,
+            "spring.datasource.hikari.minimum-idle=" + poolSize,
+            "spring.datasource.hikari.connection-timeout=600000"
+        );
+        transactionService = context.getBean(TransactionService.class);
+        BenchmarkContext.insert(context, BenchmarkContext.syntheticTransactions(10_000));
+        executor = "VIRTUAL".equals(threads)
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdownNow();
+        context.close();
+    }
+    
+    @Benchmark
+    public int concurrentDashboardRequests() throws Exception {
+        List<Future<?>> requests = new ArrayList<>(CONCURRENT_REQUESTS);
+        for (int i = 0; i < CONCURRENT_REQUESTS; i++) {
+            requests.add(executor.submit(() -> transactionService.aggregateDashboardSummary(
+                BenchmarkContext.LEDGER_START, BenchmarkContext.LEDGER_END)));
+        }
+        for (Future<?> request : requests) {
+            request.get();
+        }
+        return requests.size();
+    }
+}
@@ -3,9 +3,13 @@ package com.moneymanager;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.data.jpa.repository.config.EnableJpaAuditing;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableJpaAuditing
+@EnableScheduling
+@EnableAsync
 public class MoneyManagerApplication {
     public static void main(String[] args) {
         SpringApplication.run(MoneyManagerApplication.class, args);
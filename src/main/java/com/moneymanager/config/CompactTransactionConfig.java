@@ -0,0 +1,31 @@
+package com.moneymanager.config;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+// Boot puts converter beans ahead of its defaults, where a request with no Accept header or Accept: */* would be
+// answered with the first type the converters can produce. Moving the compact converter behind Jackson keeps those
+// requests on JSON; a client naming the compact type still gets it, as Jackson cannot write it.
+@Configuration
+@RequiredArgsConstructor
+public class CompactTransactionConfig implements WebMvcConfigurer {
+    
+    private final CompactTransactionConverter compactTransactionConverter;
+    
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.remove(compactTransactionConverter);
+        int position = converters.size();
+        for (int i = 0; i < converters.size(); i++) {
+            if (converters.get(i) instanceof MappingJackson2HttpMessageConverter) {
+                position = i + 1;
+            }
+        }
+        converters.add(position, compactTransactionConverter);
+    }
+}
@@ -0,0 +1,176 @@
+package com.moneymanager.config;
+
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionPageDTO;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.service.MoneyAccumulator;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Writes transaction listings as CBOR for clients sending Accept: application/vnd.moneymanager.transactions+cbor.
+// Each row is a fixed-order array: enums as ordinals, categories and accounts as indexes into per-response
+// dictionaries, amounts as long cents and date-times as epoch milliseconds. JSON stays the default: the converter is
+// registered behind Jackson (see CompactTransactionConfig) and only writes when the compact type is asked for by name.
+@Component
+public class CompactTransactionConverter extends AbstractGenericHttpMessageConverter<Object> {
+    
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.moneymanager.transactions+cbor";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    
+    private static final List<String> COLUMNS = List.of("id", "type", "amountCents", "category", "division", "description",
+        "transactionDate", "fromAccount", "toAccount", "createdAt", "updatedAt", "isEditable");
+    
+    // The servlet container owns the response stream; closing the generator only flushes it
+    private final CBORFactory cborFactory = CBORFactory.builder().disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+    
+    public CompactTransactionConverter() {
+        super(MEDIA_TYPE);
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TransactionPageDTO.class.equals(clazz) || List.class.isAssignableFrom(clazz);
+    }
+    
+    // Only lists declared as List<TransactionDTO> qualify; other lists keep their JSON. A null media type is Spring
+    // asking which types the value can be written as; a wildcard never selects the compact encoding.
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        ResolvableType resolved = ResolvableType.forType(type != null ? type : clazz);
+        boolean transactions = TransactionPageDTO.class.equals(resolved.resolve())
+            || List.class.isAssignableFrom(resolved.toClass()) && TransactionDTO.class.equals(resolved.resolveGeneric(0));
+        return transactions && (mediaType == null || mediaType.isConcrete() && MEDIA_TYPE.includes(mediaType));
+    }
+    
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        if (value instanceof TransactionPageDTO page) {
+            write(page.getTransactions(), page.getNextCursor(), page.getHasMore(), outputMessage.getBody());
+        } else {
+            write((List<TransactionDTO>) value, null, null, outputMessage.getBody());
+        }
+    }
+    
+    // Rows come first so the dictionaries are filled in the same pass; CBOR map keys are unordered for the reader
+    public void write(List<TransactionDTO> transactions, String nextCursor, Boolean hasMore, OutputStream body) throws IOException {
+        Map<String, Integer> categories = new HashMap<>();
+        Map<String, Integer> accounts = new HashMap<>();
+        try (CBORGenerator generator = cborFactory.createGenerator(body)) {
+            generator.writeStartObject();
+            generator.writeFieldName("rows");
+            generator.writeStartArray(transactions, transactions.size());
+            for (TransactionDTO transaction : transactions) {
+                generator.writeStartArray(transaction, COLUMNS.size());
+                generator.writeNumber(transaction.getId());
+                generator.writeNumber(transaction.getType().ordinal());
+                generator.writeNumber(MoneyAccumulator.roundToCents(transaction.getAmount()));
+                generator.writeNumber(indexOf(categories, transaction.getCategory()));
+                generator.writeNumber(transaction.getDivision().ordinal());
+                generator.writeString(transaction.getDescription());
+                writeDateTime(generator, transaction.getTransactionDate());
+                writeIndex(generator, accounts, transaction.getFromAccount());
+                writeIndex(generator, accounts, transaction.getToAccount());
+                writeDateTime(generator, transaction.getCreatedAt());
+                writeDateTime(generator, transaction.getUpdatedAt());
+                generator.writeBoolean(Boolean.TRUE.equals(transaction.getIsEditable()));
+                generator.writeEndArray();
+            }
+            generator.writeEndArray();
+            
+            writeStrings(generator, "columns", COLUMNS);
+            writeStrings(generator, "types", names(Transaction.TransactionType.values()));
+            writeStrings(generator, "divisions", names(Transaction.Division.values()));
+            writeStrings(generator, "categories", dictionary(categories));
+            writeStrings(generator, "accounts", dictionary(accounts));
+            if (hasMore != null) {
+                generator.writeStringField("nextCursor", nextCursor);
+                generator.writeBooleanField("hasMore", hasMore);
+            }
+            generator.writeEndObject();
+        }
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Compact transactions are a response format only", inputMessage);
+    }
+    
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) {
+        return readInternal(null, inputMessage);
+    }
+    
+    private static int indexOf(Map<String, Integer> dictionary, String value) {
+        return dictionary.computeIfAbsent(value, key -> dictionary.size());
+    }
+    
+    private static void writeIndex(CBORGenerator generator, Map<String, Integer> dictionary, String value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(indexOf(dictionary, value));
+        }
+    }
+    
+    // Local date-times are stored in the server's zone, so they are read in it too
+    private static void writeDateTime(CBORGenerator generator, LocalDateTime dateTime) throws IOException {
+        if (dateTime == null) {
+            generator.writeNull();
+        } else {
+            generator.writeNumber(dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+        }
+    }
+    
+    private static void writeStrings(CBORGenerator generator, String field, List<String> values) throws IOException {
+        generator.writeFieldName(field);
+        generator.writeStartArray(values, values.size());
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+    
+    private static List<String> dictionary(Map<String, Integer> indexes) {
+        String[] values = new String[indexes.size()];
+        indexes.forEach((value, index) -> values[index] = value);
+        return Arrays.asList(values);
+    }
+    
+    private static List<String> names(Enum<?>[] values) {
+        List<String> names = new ArrayList<>(values.length);
+        for (Enum<?> value : values) {
+            names.add(value.name());
+        }
+        return names;
+    }
+}
@@ -0,0 +1,96 @@
+package com.moneymanager.config;
+
+import com.moneymanager.service.ResourceVersions;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.HeaderContentNegotiationStrategy;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Transaction and account GETs carry an ETag and Last-Modified from ResourceVersions. A client sending a current
+// If-None-Match (or If-Modified-Since) gets 304 before the handler runs, after one primary-key read of the version row
+// (and two index seeks for transactions) instead of the listing's query.
+@Configuration
+@RequiredArgsConstructor
+public class ConditionalGetConfig implements WebMvcConfigurer {
+    
+    private static final HeaderContentNegotiationStrategy ACCEPT_HEADER = new HeaderContentNegotiationStrategy();
+    private static final List<MediaType> LISTING_TYPES = List.of(MediaType.APPLICATION_JSON, CompactTransactionConverter.MEDIA_TYPE);
+    
+    private final ResourceVersions resourceVersions;
+    
+    // Runs after the journal interceptor, so a GET waiting for its own write is compared against that write's version
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new VersionCheck(ResourceVersions.Resource.TRANSACTIONS))
+            .addPathPatterns("/api/transactions", "/api/transactions/**")
+            // Search lags commits by the index refresh, cache stats change on every read, and reports default their
+            // endDate to today; none of them is a function of the version alone
+            .excludePathPatterns("/api/transactions/search", "/api/transactions/cache/stats", "/api/transactions/reports/**")
+            .order(1);
+        registry.addInterceptor(new VersionCheck(ResourceVersions.Resource.ACCOUNTS))
+            .addPathPatterns("/api/accounts", "/api/accounts/**")
+            .order(1);
+    }
+    
+    @RequiredArgsConstructor
+    private class VersionCheck implements HandlerInterceptor {
+        
+        private final ResourceVersions.Resource resource;
+        
+        @Override
+        public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+            if (!HttpMethod.GET.matches(request.getMethod())) {
+                return true;
+            }
+            // Always revalidate: without this a browser may reuse the response heuristically from Last-Modified
+            response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            // A strong ETag names one representation, so the compact encoding gets its own
+            ServletWebRequest webRequest = new ServletWebRequest(request, response);
+            ResourceVersions.Stamp stamp = resourceVersions.current(resource);
+            String etag = stamp.etag();
+            if (resource == ResourceVersions.Resource.TRANSACTIONS
+                    && CompactTransactionConverter.MEDIA_TYPE.equals(negotiate(webRequest))) {
+                etag = etag + "-cbor";
+            }
+            // Sets ETag and Last-Modified on the response either way; true means 304 has been written
+            return !webRequest.checkNotModified(etag, stamp.lastModified());
+        }
+    }
+    
+    // The type Spring will write, chosen as it does before the handler has run: each accepted type is matched against
+    // the listing types in converter order (JSON ahead of the compact type, see CompactTransactionConfig) and the most
+    // specific match with the highest quality wins, so no Accept header and */* negotiate JSON
+    private static MediaType negotiate(ServletWebRequest webRequest) {
+        List<MediaType> accepted;
+        try {
+            accepted = ACCEPT_HEADER.resolveMediaTypes(webRequest);
+        } catch (HttpMediaTypeNotAcceptableException ex) {
+            return null;
+        }
+        List<MediaType> compatible = new ArrayList<>();
+        for (MediaType acceptedType : accepted) {
+            for (MediaType listingType : LISTING_TYPES) {
+                if (acceptedType.isCompatibleWith(listingType)) {
+                    compatible.add(listingType.copyQualityValue(acceptedType));
+                }
+            }
+        }
+        MimeTypeUtils.sortBySpecificity(compatible);
+        return compatible.isEmpty() ? null : compatible.get(0).removeQualityValue();
+    }
+}
@@ -0,0 +1,33 @@
+package com.moneymanager.config;
+
+import com.moneymanager.service.TransactionJournal;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// A GET carrying the X-Journal-Sequence header returned by an earlier write waits until that write has been projected
+@Configuration
+@RequiredArgsConstructor
+public class JournalWebConfig implements WebMvcConfigurer {
+    
+    private final TransactionJournal transactionJournal;
+    
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                String sequence = request.getHeader(TransactionJournal.SEQUENCE_HEADER);
+                if (sequence != null && sequence.matches("\\d{1,18}") && HttpMethod.GET.matches(request.getMethod())) {
+                    transactionJournal.awaitProjected(Long.parseLong(sequence));
+                }
+                return true;
+            }
+        }).addPathPatterns("/api/**");
+    }
+}
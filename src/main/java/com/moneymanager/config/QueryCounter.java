@@ -0,0 +1,28 @@
+package com.moneymanager.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Counts the SQL statements Hibernate prepares on the current thread while a count is open (see QueryCountFilter)
+public class QueryCounter implements StatementInspector {
+    
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+    
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+    
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count != null ? count[0] : 0;
+    }
+    
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
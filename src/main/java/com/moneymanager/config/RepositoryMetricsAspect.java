@@ -0,0 +1,47 @@
+package com.moneymanager.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Optional;
+
+// Distribution of rows returned (or, for modifying queries, affected) by each repository method
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class RepositoryMetricsAspect {
+    
+    private final MeterRegistry meterRegistry;
+    
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))")
+    public Object recordRowCount(ProceedingJoinPoint joinPoint) throws Throwable {
+        Object result = joinPoint.proceed();
+        
+        long rows;
+        if (result instanceof Collection<?> collection) {
+            rows = collection.size();
+        } else if (result instanceof Optional<?> optional) {
+            rows = optional.isPresent() ? 1 : 0;
+        } else if (result instanceof Integer affected) {
+            rows = affected;
+        } else {
+            // Streams are consumed after the call returns; scalars and single entities are not row counts
+            return result;
+        }
+        
+        DistributionSummary.builder("moneymanager.repository.rows")
+            .description("Rows returned or affected per repository call")
+            .tag("repository", joinPoint.getSignature().getDeclaringType().getSimpleName())
+            .tag("method", joinPoint.getSignature().getName())
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(rows);
+        return result;
+    }
+}
@@ -1,14 +1,18 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.dto.AccountBalanceDTO;
 import com.moneymanager.dto.AccountDTO;
 import com.moneymanager.model.Account;
+import com.moneymanager.service.AccountBalanceHistoryService;
 import com.moneymanager.service.AccountService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -18,6 +22,7 @@ import java.util.List;
 public class AccountController {
     
     private final AccountService accountService;
+    private final AccountBalanceHistoryService balanceHistoryService;
     
     @PostMapping
     public ResponseEntity<AccountDTO> createAccount(
@@ -40,6 +45,14 @@ public class AccountController {
         return ResponseEntity.ok(account);
     }
     
+    @GetMapping("/{accountName}/balance")
+    public ResponseEntity<AccountBalanceDTO> getBalanceAt(
+            @PathVariable String accountName,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        AccountBalanceDTO balance = balanceHistoryService.getBalanceAt(accountName, at != null ? at : LocalDateTime.now());
+        return ResponseEntity.ok(balance);
+    }
+    
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteAccount(@PathVariable Long id) {
         accountService.deleteAccount(id);
@@ -0,0 +1,70 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.dto.BudgetAlertDTO;
+import com.moneymanager.dto.BudgetDTO;
+import com.moneymanager.dto.BudgetRequestDTO;
+import com.moneymanager.service.BudgetService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/budgets")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class BudgetController {
+    
+    private static final String DEFAULT_ALERT_COUNT = "50";
+    
+    private final BudgetService budgetService;
+    
+    @PostMapping
+    public ResponseEntity<BudgetDTO> createBudget(@Valid @RequestBody BudgetRequestDTO requestDTO) {
+        BudgetDTO createdBudget = budgetService.createBudget(requestDTO);
+        return new ResponseEntity<>(createdBudget, HttpStatus.CREATED);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<BudgetDTO> updateBudget(
+            @PathVariable Long id,
+            @Valid @RequestBody BudgetRequestDTO requestDTO) {
+        BudgetDTO updatedBudget = budgetService.updateBudget(id, requestDTO);
+        return ResponseEntity.ok(updatedBudget);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteBudget(@PathVariable Long id) {
+        budgetService.deleteBudget(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<BudgetDTO> getBudgetById(@PathVariable Long id) {
+        BudgetDTO budget = budgetService.getBudgetById(id);
+        return ResponseEntity.ok(budget);
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<BudgetDTO>> getAllBudgets() {
+        List<BudgetDTO> budgets = budgetService.getAllBudgets();
+        return ResponseEntity.ok(budgets);
+    }
+    
+    @GetMapping("/alerts")
+    public ResponseEntity<List<BudgetAlertDTO>> getAlerts(@RequestParam(defaultValue = DEFAULT_ALERT_COUNT) int size) {
+        List<BudgetAlertDTO> alerts = budgetService.getAlerts(null, size);
+        return ResponseEntity.ok(alerts);
+    }
+    
+    @GetMapping("/{id}/alerts")
+    public ResponseEntity<List<BudgetAlertDTO>> getBudgetAlerts(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = DEFAULT_ALERT_COUNT) int size) {
+        List<BudgetAlertDTO> alerts = budgetService.getAlerts(id, size);
+        return ResponseEntity.ok(alerts);
+    }
+}
@@ -0,0 +1,37 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.service.TransactionJournal;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+// Returns the journal sequence of a write as the X-Journal-Sequence header, for clients that want to read their own writes
+@ControllerAdvice
+public class JournalSequenceAdvice implements ResponseBodyAdvice<Object> {
+    
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+    
+    @Override
+    public Object beforeBodyWrite(Object body,
+                                  MethodParameter returnType,
+                                  MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request,
+                                  ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest servletRequest) {
+            Object sequence = servletRequest.getServletRequest().getAttribute(TransactionJournal.SEQUENCE_ATTRIBUTE);
+            if (sequence != null) {
+                response.getHeaders().set(TransactionJournal.SEQUENCE_HEADER, sequence.toString());
+            }
+        }
+        return body;
+    }
+}
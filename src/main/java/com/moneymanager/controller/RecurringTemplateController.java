@@ -0,0 +1,53 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.dto.RecurringTemplateDTO;
+import com.moneymanager.dto.RecurringTemplateRequestDTO;
+import com.moneymanager.service.RecurringTransactionService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/recurring-transactions")
+@RequiredArgsConstructor
+@CrossOrigin(origins = "*")
+public class RecurringTemplateController {
+    
+    private final RecurringTransactionService recurringTransactionService;
+    
+    @PostMapping
+    public ResponseEntity<RecurringTemplateDTO> createTemplate(@Valid @RequestBody RecurringTemplateRequestDTO requestDTO) {
+        RecurringTemplateDTO createdTemplate = recurringTransactionService.createTemplate(requestDTO);
+        return new ResponseEntity<>(createdTemplate, HttpStatus.CREATED);
+    }
+    
+    @PutMapping("/{id}")
+    public ResponseEntity<RecurringTemplateDTO> updateTemplate(
+            @PathVariable Long id,
+            @Valid @RequestBody RecurringTemplateRequestDTO requestDTO) {
+        RecurringTemplateDTO updatedTemplate = recurringTransactionService.updateTemplate(id, requestDTO);
+        return ResponseEntity.ok(updatedTemplate);
+    }
+    
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteTemplate(@PathVariable Long id) {
+        recurringTransactionService.deleteTemplate(id);
+        return ResponseEntity.noContent().build();
+    }
+    
+    @GetMapping("/{id}")
+    public ResponseEntity<RecurringTemplateDTO> getTemplateById(@PathVariable Long id) {
+        RecurringTemplateDTO template = recurringTransactionService.getTemplateById(id);
+        return ResponseEntity.ok(template);
+    }
+    
+    @GetMapping
+    public ResponseEntity<List<RecurringTemplateDTO>> getAllTemplates() {
+        List<RecurringTemplateDTO> templates = recurringTransactionService.getAllTemplates();
+        return ResponseEntity.ok(templates);
+    }
+}
@@ -1,17 +1,30 @@
 package com.moneymanager.controller;
 
+import com.moneymanager.dto.CacheStatsDTO;
 import com.moneymanager.dto.DashboardSummaryDTO;
+import com.moneymanager.dto.PeriodReportDTO;
+import com.moneymanager.dto.TransactionBatchRequestDTO;
 import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionPageDTO;
 import com.moneymanager.dto.TransactionRequestDTO;
 import com.moneymanager.model.Transaction;
+import com.moneymanager.service.DailyRollupService;
+import com.moneymanager.service.PeriodReportService;
+import com.moneymanager.service.TransactionExportService;
+import com.moneymanager.service.TransactionSearchService;
 import com.moneymanager.service.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -21,7 +34,13 @@ import java.util.List;
 @CrossOrigin(origins = "*")
 public class TransactionController {
     
+    private static final String DEFAULT_PAGE_SIZE = "50";
+    
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final DailyRollupService dailyRollupService;
+    private final PeriodReportService periodReportService;
+    private final TransactionSearchService transactionSearchService;
     
     @PostMapping
     public ResponseEntity<TransactionDTO> createTransaction(@Valid @RequestBody TransactionRequestDTO requestDTO) {
@@ -29,6 +48,12 @@ public class TransactionController {
         return new ResponseEntity<>(createdTransaction, HttpStatus.CREATED);
     }
     
+    @PostMapping("/batch")
+    public ResponseEntity<List<TransactionDTO>> createTransactions(@Valid @RequestBody TransactionBatchRequestDTO batchRequestDTO) {
+        List<TransactionDTO> createdTransactions = transactionService.createTransactions(batchRequestDTO.getTransactions());
+        return new ResponseEntity<>(createdTransactions, HttpStatus.CREATED);
+    }
+    
     @PutMapping("/{id}")
     public ResponseEntity<TransactionDTO> updateTransaction(
             @PathVariable Long id,
@@ -81,6 +106,85 @@ public class TransactionController {
         return ResponseEntity.ok(transactions);
     }
     
+    @GetMapping("/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        TransactionPageDTO page = transactionService.getTransactionsPage(cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/date-range/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsByDateRangePage(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        TransactionPageDTO page = transactionService.getTransactionsByDateRangePage(startDate, endDate, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/type/{type}/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsByTypePage(
+            @PathVariable Transaction.TransactionType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        TransactionPageDTO page = transactionService.getTransactionsByTypePage(type, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/division/{division}/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsByDivisionPage(
+            @PathVariable Transaction.Division division,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        TransactionPageDTO page = transactionService.getTransactionsByDivisionPage(division, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/category/{category}/page")
+    public ResponseEntity<TransactionPageDTO> getTransactionsByCategoryPage(
+            @PathVariable String category,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size) {
+        TransactionPageDTO page = transactionService.getTransactionsByCategoryPage(category, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+    
+    @GetMapping("/search")
+    public ResponseEntity<List<TransactionDTO>> searchTransactions(
+            @RequestParam("q") String text,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) Transaction.Division division,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(defaultValue = "20") int size) {
+        List<TransactionDTO> transactions = transactionSearchService.search(text, type, division, startDate, endDate, size);
+        return ResponseEntity.ok(transactions);
+    }
+    
+    @PostMapping("/search/rebuild")
+    public ResponseEntity<Long> rebuildSearchIndex() {
+        long indexed = transactionSearchService.rebuild();
+        return ResponseEntity.ok(indexed);
+    }
+    
+    @GetMapping("/export")
+    public void exportTransactions(
+            @RequestParam(defaultValue = "NDJSON") TransactionExportService.ExportFormat format,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @RequestParam(required = false) Transaction.TransactionType type,
+            @RequestParam(required = false) Transaction.Division division,
+            @RequestParam(required = false) String category,
+            HttpServletResponse response) throws IOException {
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            "attachment; filename=\"transactions." + format.getFileExtension() + "\"");
+        transactionExportService.export(format, startDate, endDate, type, division, category, response.getOutputStream());
+    }
+    
     @GetMapping("/dashboard")
     public ResponseEntity<DashboardSummaryDTO> getDashboardSummary(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
@@ -89,6 +193,28 @@ public class TransactionController {
         return ResponseEntity.ok(summary);
     }
     
+    @GetMapping("/reports/periods")
+    public ResponseEntity<PeriodReportDTO> getPeriodReport(
+            @RequestParam(defaultValue = "MONTH") PeriodReportService.Granularity granularity,
+            @RequestParam(defaultValue = "12") int count,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
+        PeriodReportDTO report = periodReportService.getPeriodReport(
+            granularity, count, endDate != null ? endDate : LocalDate.now());
+        return ResponseEntity.ok(report);
+    }
+    
+    @GetMapping("/cache/stats")
+    public ResponseEntity<List<CacheStatsDTO>> getCacheStats() {
+        List<CacheStatsDTO> stats = transactionService.getCacheStats();
+        return ResponseEntity.ok(stats);
+    }
+    
+    @PostMapping("/rollups/rebuild")
+    public ResponseEntity<Integer> rebuildDailyRollups() {
+        int rows = dailyRollupService.rebuild();
+        return ResponseEntity.ok(rows);
+    }
+    
     @GetMapping("/categories")
     public ResponseEntity<List<String>> getCategories(@RequestParam Transaction.TransactionType type) {
         List<String> categories = transactionService.getCategories(type);
@@ -0,0 +1,17 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceDTO {
+    private String accountName;
+    private LocalDateTime at;
+    private BigDecimal balance;
+}
@@ -0,0 +1,23 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.model.BudgetAlert;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlertDTO {
+    private Long id;
+    private Long budgetId;
+    private YearMonth month;
+    private BudgetAlert.Level level;
+    private BigDecimal spentAmount;
+    private BigDecimal monthlyLimit;
+    private LocalDateTime raisedAt;
+}
@@ -0,0 +1,26 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetDTO {
+    private Long id;
+    private String category;
+    private Transaction.Division division;
+    private BigDecimal monthlyLimit;
+    private Integer thresholdPercent;
+    private YearMonth month;
+    private BigDecimal spent;
+    private BigDecimal remaining;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
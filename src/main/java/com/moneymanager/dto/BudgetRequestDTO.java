@@ -0,0 +1,32 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.model.Transaction;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetRequestDTO {
+    
+    @NotNull(message = "Category is required")
+    private String category;
+    
+    @NotNull(message = "Division is required")
+    private Transaction.Division division;
+    
+    @NotNull(message = "Monthly limit is required")
+    @Positive(message = "Monthly limit must be positive")
+    private BigDecimal monthlyLimit;
+    
+    @Min(value = 1, message = "Threshold percent must be between 1 and 100")
+    @Max(value = 100, message = "Threshold percent must be between 1 and 100")
+    private Integer thresholdPercent = 80;
+}
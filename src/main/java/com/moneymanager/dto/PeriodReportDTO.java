@@ -0,0 +1,16 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.service.PeriodReportService;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodReportDTO {
+    private PeriodReportService.Granularity granularity;
+    private List<PeriodSummaryDTO> periods;
+}
@@ -0,0 +1,22 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PeriodSummaryDTO {
+    private LocalDate periodStart;
+    private LocalDate periodEnd; // exclusive
+    private BigDecimal totalIncome;
+    private BigDecimal totalExpense;
+    private BigDecimal balance;
+    private Map<String, BigDecimal> categoryWiseExpense;
+    private Map<String, BigDecimal> categoryWiseIncome;
+}
@@ -0,0 +1,32 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.model.Transaction;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTemplateDTO {
+    private Long id;
+    private Transaction.TransactionType type;
+    private BigDecimal amount;
+    private String category;
+    private Transaction.Division division;
+    private String description;
+    private String fromAccount;
+    private String toAccount;
+    private String cronExpression;
+    private Duration interval;
+    private LocalDateTime startsAt;
+    private LocalDateTime endsAt;
+    private LocalDateTime nextOccurrenceAt;
+    private Boolean active;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
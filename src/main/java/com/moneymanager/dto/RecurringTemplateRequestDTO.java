@@ -0,0 +1,46 @@
+package com.moneymanager.dto;
+
+import com.moneymanager.model.Transaction;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RecurringTemplateRequestDTO {
+    
+    @NotNull(message = "Transaction type is required")
+    private Transaction.TransactionType type;
+    
+    @NotNull(message = "Amount is required")
+    @Positive(message = "Amount must be positive")
+    private BigDecimal amount;
+    
+    @NotNull(message = "Category is required")
+    private String category;
+    
+    @NotNull(message = "Division is required")
+    private Transaction.Division division;
+    
+    @NotNull(message = "Description is required")
+    private String description;
+    
+    private String fromAccount;
+    private String toAccount;
+    
+    // Either a Spring cron expression (e.g. "0 0 9 1 * *") or a fixed interval (e.g. "P7D")
+    private String cronExpression;
+    private Duration interval;
+    
+    @NotNull(message = "Start time is required")
+    private LocalDateTime startsAt;
+    
+    private LocalDateTime endsAt;
+}
@@ -0,0 +1,20 @@
+package com.moneymanager.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionBatchRequestDTO {
+    
+    @NotEmpty(message = "At least one transaction is required")
+    @Size(max = 1000, message = "A batch can contain at most 1000 transactions")
+    private List<@Valid TransactionRequestDTO> transactions;
+}
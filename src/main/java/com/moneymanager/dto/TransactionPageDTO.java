@@ -0,0 +1,16 @@
+package com.moneymanager.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionPageDTO {
+    private List<TransactionDTO> transactions;
+    private String nextCursor;
+    private Boolean hasMore;
+}
@@ -0,0 +1,7 @@
+package com.moneymanager.exception;
+
+public class AccountInUseException extends RuntimeException {
+    public AccountInUseException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.moneymanager.exception;
+
+public class DuplicateBudgetException extends RuntimeException {
+    public DuplicateBudgetException(String message) {
+        super(message);
+    }
+}
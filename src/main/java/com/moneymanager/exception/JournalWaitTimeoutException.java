@@ -0,0 +1,7 @@
+package com.moneymanager.exception;
+
+public class JournalWaitTimeoutException extends RuntimeException {
+    public JournalWaitTimeoutException(String message) {
+        super(message);
+    }
+}
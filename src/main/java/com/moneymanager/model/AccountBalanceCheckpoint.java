@@ -0,0 +1,22 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "account_balance_checkpoints")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceCheckpoint {
+    
+    @EmbeddedId
+    private AccountBalanceCheckpointId id;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal balance;
+}
@@ -0,0 +1,22 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceCheckpointId implements Serializable {
+    
+    @Column(nullable = false)
+    private Long accountId;
+    
+    @Column(nullable = false)
+    private LocalDateTime checkpointAt;
+}
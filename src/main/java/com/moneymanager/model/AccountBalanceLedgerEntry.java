@@ -0,0 +1,31 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "account_balance_ledger")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceLedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "account_balance_ledger_seq")
+    @SequenceGenerator(name = "account_balance_ledger_seq", sequenceName = "ACCOUNT_BALANCE_LEDGER_SEQ", allocationSize = 50)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long accountId;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal delta;
+    
+    @Column(nullable = false)
+    private LocalDateTime effectiveAt;
+}
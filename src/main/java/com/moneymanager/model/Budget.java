@@ -0,0 +1,49 @@
+package com.moneymanager.model;
+
+import com.moneymanager.service.CategoryConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "budgets")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class Budget {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_seq")
+    @SequenceGenerator(name = "budget_seq", sequenceName = "BUDGET_SEQ", allocationSize = 1)
+    private Long id;
+    
+    @Column(name = "category_id", nullable = false)
+    @Convert(converter = CategoryConverter.class)
+    private String category;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.Division division;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal monthlyLimit;
+    
+    @Column(nullable = false)
+    private Integer thresholdPercent; // share of the limit at which the first alert is raised
+    
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+}
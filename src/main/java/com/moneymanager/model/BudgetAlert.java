@@ -0,0 +1,46 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "budget_alerts")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BudgetAlert {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "budget_alert_seq")
+    @SequenceGenerator(name = "budget_alert_seq", sequenceName = "BUDGET_ALERT_SEQ", allocationSize = 1)
+    private Long id;
+    
+    @Column(nullable = false)
+    private Long budgetId;
+    
+    @Column(nullable = false)
+    private LocalDate budgetMonth; // first day of the month the spend belongs to
+    
+    @Column(name = "alert_level", nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Level level;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal spentAmount;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal monthlyLimit;
+    
+    @Column(nullable = false)
+    private LocalDateTime raisedAt;
+    
+    public enum Level {
+        THRESHOLD, EXCEEDED
+    }
+}
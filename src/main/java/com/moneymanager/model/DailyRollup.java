@@ -0,0 +1,25 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Entity
+@Table(name = "daily_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRollup {
+    
+    @EmbeddedId
+    private DailyRollupId id;
+    
+    @Column(nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+    
+    @Column(nullable = false)
+    private Long transactionCount;
+}
@@ -0,0 +1,32 @@
+package com.moneymanager.model;
+
+import com.moneymanager.service.CategoryConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Embeddable
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRollupId implements Serializable {
+    
+    @Column(name = "rollup_day", nullable = false)
+    private LocalDate day;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.Division division;
+    
+    @Column(name = "category_id", nullable = false)
+    @Convert(converter = CategoryConverter.class)
+    private String category;
+}
@@ -0,0 +1,60 @@
+package com.moneymanager.model;
+
+import com.moneymanager.service.CategoryConverter;
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.type.NumericBooleanConverter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read-only view over hot and archived transactions; writes always go through Transaction
+@Entity
+@Immutable
+@Table(name = "transaction_ledger")
+@Data
+@NoArgsConstructor
+public class LedgerTransaction {
+    
+    @Id
+    private Long id;
+    
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+    
+    @Column(precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "category_id")
+    @Convert(converter = CategoryConverter.class)
+    private String category;
+    
+    @Enumerated(EnumType.STRING)
+    private Transaction.Division division;
+    
+    private String description;
+    
+    private LocalDateTime transactionDate;
+    
+    @Column(name = "from_account")
+    private String fromAccount;
+    
+    @Column(name = "to_account")
+    private String toAccount;
+    
+    private LocalDateTime createdAt;
+    
+    private LocalDateTime updatedAt;
+    
+    @Convert(converter = NumericBooleanConverter.class)
+    private Boolean isEditable;
+    
+    private Long recurringTemplateId;
+    
+    private LocalDateTime occurrenceAt;
+    
+    @Convert(converter = NumericBooleanConverter.class)
+    private Boolean archived;
+}
@@ -0,0 +1,81 @@
+package com.moneymanager.model;
+
+import com.moneymanager.service.CategoryConverter;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.type.NumericBooleanConverter;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "recurring_templates")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@EntityListeners(AuditingEntityListener.class)
+public class RecurringTemplate {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "recurring_template_seq")
+    @SequenceGenerator(name = "recurring_template_seq", sequenceName = "RECURRING_TEMPLATE_SEQ", allocationSize = 1)
+    private Long id;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(name = "category_id", nullable = false)
+    @Convert(converter = CategoryConverter.class)
+    private String category;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.Division division;
+    
+    @Column(nullable = false, length = 500)
+    private String description;
+    
+    @Column(name = "from_account")
+    private String fromAccount;
+    
+    @Column(name = "to_account")
+    private String toAccount;
+    
+    // Exactly one of cronExpression and intervalSeconds is set
+    @Column(length = 120)
+    private String cronExpression;
+    
+    private Long intervalSeconds;
+    
+    @Column(nullable = false)
+    private LocalDateTime startsAt;
+    
+    private LocalDateTime endsAt;
+    
+    private LocalDateTime nextOccurrenceAt; // null once the template has run past endsAt
+    
+    @Column(nullable = false)
+    @Convert(converter = NumericBooleanConverter.class)
+    private Boolean active = true;
+    
+    @CreatedDate
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @LastModifiedDate
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+    
+    @Version
+    @Column(nullable = false)
+    private Long version;
+}
@@ -1,9 +1,11 @@
 package com.moneymanager.model;
 
+import com.moneymanager.service.CategoryConverter;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.type.NumericBooleanConverter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -21,7 +23,7 @@ public class Transaction {
     
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_seq")
-    @SequenceGenerator(name = "transaction_seq", sequenceName = "TRANSACTION_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "transaction_seq", sequenceName = "TRANSACTION_SEQ", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false)
@@ -31,8 +33,9 @@ public class Transaction {
     @Column(nullable = false, precision = 15, scale = 2)
     private BigDecimal amount;
     
-    @Column(nullable = false)
-    private String category;
+    @Column(name = "category_id", nullable = false)
+    @Convert(converter = CategoryConverter.class)
+    private String category; // stored as the categories dictionary id
     
     @Column(nullable = false)
     @Enumerated(EnumType.STRING)
@@ -58,9 +61,17 @@ public class Transaction {
     @Column(nullable = false)
     private LocalDateTime updatedAt;
     
+    // NUMBER(1) flag: written as 1/0 on every database, where H2 would otherwise bind a BOOLEAN
     @Column(nullable = false)
+    @Convert(converter = NumericBooleanConverter.class)
     private Boolean isEditable = true;
     
+    @Column(updatable = false)
+    private Long recurringTemplateId; // set on rows generated from a recurring template
+    
+    @Column(updatable = false)
+    private LocalDateTime occurrenceAt;
+    
     public enum TransactionType {
         INCOME, EXPENSE, TRANSFER
     }
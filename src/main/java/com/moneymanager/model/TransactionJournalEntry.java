@@ -0,0 +1,54 @@
+package com.moneymanager.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "transaction_journal")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionJournalEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transaction_journal_seq")
+    @SequenceGenerator(name = "transaction_journal_seq", sequenceName = "TRANSACTION_JOURNAL_SEQ", allocationSize = 50)
+    private Long sequenceNo;
+    
+    @Column(nullable = false)
+    private Long transactionId;
+    
+    @Column(nullable = false)
+    private Integer sign; // 1 applies the transaction, -1 takes it back
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.TransactionType type;
+    
+    @Column(nullable = false, precision = 15, scale = 2)
+    private BigDecimal amount;
+    
+    @Column(nullable = false)
+    private String category;
+    
+    @Column(nullable = false)
+    @Enumerated(EnumType.STRING)
+    private Transaction.Division division;
+    
+    @Column(nullable = false)
+    private LocalDateTime transactionDate;
+    
+    @Column(name = "from_account")
+    private String fromAccount;
+    
+    @Column(name = "to_account")
+    private String toAccount;
+    
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+}
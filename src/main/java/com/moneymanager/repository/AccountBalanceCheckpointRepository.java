@@ -0,0 +1,39 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.AccountBalanceCheckpoint;
+import com.moneymanager.model.AccountBalanceCheckpointId;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, AccountBalanceCheckpointId> {
+    
+    @Query("SELECT c FROM AccountBalanceCheckpoint c WHERE c.id.accountId = :accountId AND c.id.checkpointAt <= :at " +
+           "ORDER BY c.id.checkpointAt DESC")
+    List<AccountBalanceCheckpoint> findLatestAtOrBefore(
+        @Param("accountId") Long accountId,
+        @Param("at") LocalDateTime at,
+        Pageable pageable
+    );
+    
+    @Query("SELECT MAX(c.id.checkpointAt) FROM AccountBalanceCheckpoint c WHERE c.id.accountId = :accountId")
+    LocalDateTime findLatestCheckpointAt(@Param("accountId") Long accountId);
+    
+    // A change dated at or before a checkpoint is part of the balance that checkpoint records
+    @Modifying
+    @Query("UPDATE AccountBalanceCheckpoint c SET c.balance = c.balance + :delta " +
+           "WHERE c.id.accountId = :accountId AND c.id.checkpointAt >= :effectiveAt")
+    int addToCheckpointsFrom(
+        @Param("accountId") Long accountId,
+        @Param("effectiveAt") LocalDateTime effectiveAt,
+        @Param("delta") BigDecimal delta
+    );
+}
@@ -0,0 +1,23 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.AccountBalanceLedgerEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Repository
+public interface AccountBalanceLedgerRepository extends JpaRepository<AccountBalanceLedgerEntry, Long> {
+    
+    // Null when the account has no entries taking effect in (after, until]; a null after means from the start
+    @Query("SELECT SUM(l.delta) FROM AccountBalanceLedgerEntry l WHERE l.accountId = :accountId " +
+           "AND (:after IS NULL OR l.effectiveAt > :after) AND l.effectiveAt <= :until")
+    BigDecimal sumDeltas(
+        @Param("accountId") Long accountId,
+        @Param("after") LocalDateTime after,
+        @Param("until") LocalDateTime until
+    );
+}
@@ -1,13 +1,50 @@
 package com.moneymanager.repository;
 
+import com.moneymanager.dto.AccountDTO;
 import com.moneymanager.model.Account;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
+    String SELECT_DTO = "SELECT new com.moneymanager.dto.AccountDTO(a.id, a.accountName, a.balance, a.accountType, " +
+        "a.createdAt, a.updatedAt) FROM Account a";
+    
     Optional<Account> findByAccountName(String accountName);
     boolean existsByAccountName(String accountName);
+    
+    @Query(SELECT_DTO + " WHERE a.id = :id")
+    Optional<AccountDTO> findDtoById(@Param("id") Long id);
+    
+    @Query(SELECT_DTO)
+    List<AccountDTO> findAllDtos();
+    
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Account a SET a.balance = a.balance + :delta, a.updatedAt = :updatedAt, a.version = a.version + 1 " +
+           "WHERE a.id = :id")
+    int adjustBalance(
+        @Param("id") Long id,
+        @Param("delta") BigDecimal delta,
+        @Param("updatedAt") LocalDateTime updatedAt
+    );
+    
+    // Takes the row lock a balance update takes, without changing the row; null once the account is gone
+    @Query(value = "SELECT id FROM accounts WHERE id = :id FOR UPDATE", nativeQuery = true)
+    Long lockById(@Param("id") Long id);
+    
+    @Query("SELECT a.id AS id, a.accountName AS accountName FROM Account a")
+    List<AccountIdName> findAllIdsAndNames();
+    
+    interface AccountIdName {
+        Long getId();
+        String getAccountName();
+    }
 }
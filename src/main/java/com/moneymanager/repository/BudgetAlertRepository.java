@@ -0,0 +1,43 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.BudgetAlert;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface BudgetAlertRepository extends JpaRepository<BudgetAlert, Long> {
+    
+    List<BudgetAlert> findByBudgetIdOrderByRaisedAtDesc(Long budgetId, Pageable pageable);
+    
+    List<BudgetAlert> findAllByOrderByRaisedAtDesc(Pageable pageable);
+    
+    // Inserts nothing when the level is already recorded for the month (uk_budget_alerts_level) or the budget is gone.
+    // The casts type the bind parameters, which H2 cannot otherwise infer in a USING subquery.
+    @Transactional
+    @Modifying
+    @Query(value = "MERGE INTO budget_alerts a " +
+                   "USING (SELECT b.id AS budget_id, CAST(:budgetMonth AS DATE) AS budget_month, " +
+                   "CAST(:level AS VARCHAR2(20)) AS alert_level FROM budgets b WHERE b.id = :budgetId) s " +
+                   "ON (a.budget_id = s.budget_id AND a.budget_month = s.budget_month AND a.alert_level = s.alert_level) " +
+                   "WHEN NOT MATCHED THEN INSERT (id, budget_id, budget_month, alert_level, spent_amount, monthly_limit, raised_at) " +
+                   "VALUES (BUDGET_ALERT_SEQ.NEXTVAL, s.budget_id, s.budget_month, s.alert_level, :spent, :monthlyLimit, :raisedAt)",
+           nativeQuery = true)
+    int insertIfAbsent(
+        @Param("budgetId") Long budgetId,
+        @Param("budgetMonth") LocalDate budgetMonth,
+        @Param("level") String level,
+        @Param("spent") BigDecimal spent,
+        @Param("monthlyLimit") BigDecimal monthlyLimit,
+        @Param("raisedAt") LocalDateTime raisedAt
+    );
+}
@@ -0,0 +1,12 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.Budget;
+import com.moneymanager.model.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BudgetRepository extends JpaRepository<Budget, Long> {
+    
+    boolean existsByCategoryAndDivision(String category, Transaction.Division division);
+}
@@ -0,0 +1,34 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.Category;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CategoryRepository extends JpaRepository<Category, Long> {
+    Optional<Category> findByName(String name);
+    
+    @Query(value = "SELECT category_id AS categoryId, type AS type FROM category_types", nativeQuery = true)
+    List<CategoryType> findAllCategoryTypes();
+    
+    // A category is listed for a type while a transaction or recurring template of that type uses it, and expense
+    // categories also while a budget does; a name replaced by an edit drops out once nothing refers to it
+    @Query(value = "SELECT c.name FROM categories c JOIN category_types ct ON ct.category_id = c.id " +
+                   "WHERE ct.type = :type " +
+                   "AND (EXISTS (SELECT 1 FROM transaction_ledger t WHERE t.type = ct.type AND t.category_id = c.id) " +
+                   "OR EXISTS (SELECT 1 FROM recurring_templates r WHERE r.type = ct.type AND r.category_id = c.id) " +
+                   "OR (ct.type = 'EXPENSE' AND EXISTS (SELECT 1 FROM budgets b WHERE b.category_id = c.id))) " +
+                   "ORDER BY c.name",
+           nativeQuery = true)
+    List<String> findNamesInUse(@Param("type") String type);
+    
+    interface CategoryType {
+        Long getCategoryId();
+        String getType();
+    }
+}
@@ -0,0 +1,53 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.DailyRollup;
+import com.moneymanager.model.DailyRollupId;
+import com.moneymanager.model.Transaction;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyRollupRepository extends JpaRepository<DailyRollup, DailyRollupId> {
+    
+    @Modifying
+    @Query("DELETE FROM DailyRollup r")
+    int deleteAllRollups();
+    
+    @Modifying
+    @Query(value = "INSERT INTO daily_rollups (rollup_day, type, division, category_id, total_amount, transaction_count) " +
+                   "SELECT TRUNC(transaction_date), type, division, category_id, SUM(amount), COUNT(*) " +
+                   "FROM transaction_ledger " +
+                   "GROUP BY TRUNC(transaction_date), type, division, category_id",
+           nativeQuery = true)
+    int insertFromTransactions();
+    
+    @Query("SELECT r.id.type AS type, r.id.category AS category, SUM(r.totalAmount) AS total FROM DailyRollup r " +
+           "WHERE r.id.type IN :types " +
+           "AND r.id.day BETWEEN :startDay AND :endDay " +
+           "GROUP BY r.id.type, r.id.category " +
+           "HAVING SUM(r.transactionCount) > 0")
+    List<TransactionRepository.CategoryTotal> sumByTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDay") LocalDate startDay,
+        @Param("endDay") LocalDate endDay
+    );
+    
+    @Query("SELECT year(r.id.day) AS calendarYear, month(r.id.day) AS calendarMonth, day(r.id.day) AS calendarDay, " +
+           "r.id.type AS type, r.id.category AS category, SUM(r.totalAmount) AS total FROM DailyRollup r " +
+           "WHERE r.id.type IN :types " +
+           "AND r.id.day >= :startDay AND r.id.day < :endDayExclusive " +
+           "GROUP BY r.id.day, r.id.type, r.id.category " +
+           "HAVING SUM(r.transactionCount) > 0")
+    List<TransactionRepository.DailyCategoryTotal> sumByDayTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDay") LocalDate startDay,
+        @Param("endDayExclusive") LocalDate endDayExclusive
+    );
+}
@@ -0,0 +1,168 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.LedgerTransaction;
+import com.moneymanager.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+// The same reads as TransactionRepository over the transaction_ledger view, for ranges that reach archived months.
+// Date predicates are pushed into both branches of the view, so each side still prunes by partition or index.
+@Repository
+public interface LedgerTransactionRepository extends JpaRepository<LedgerTransaction, Long>, TransactionReads {
+    
+    String SELECT_DTO = DTO_COLUMNS + " FROM LedgerTransaction t";
+    
+    @Query(SELECT_DTO + " WHERE t.id = :id")
+    Optional<TransactionDTO> findDtoById(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.id IN :ids")
+    List<TransactionDTO> findDtosByIds(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate")
+    List<TransactionDTO> findDtosByDateRange(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cutoff") LocalDateTime cutoff
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.type = :type")
+    List<TransactionDTO> findDtosByType(@Param("type") Transaction.TransactionType type, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.division = :division")
+    List<TransactionDTO> findDtosByDivision(@Param("division") Transaction.Division division, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.category = :category")
+    List<TransactionDTO> findDtosByCategory(@Param("category") String category, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " ORDER BY t.transactionDate DESC")
+    List<TransactionDTO> findAllDtosOrderByDateDesc(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageBefore(
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByDateRangeBefore(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.type = :type AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByTypeBefore(
+        @Param("type") Transaction.TransactionType type,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.division = :division AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByDivisionBefore(
+        @Param("division") Transaction.Division division,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.category = :category AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByCategoryBefore(
+        @Param("category") String category,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query("SELECT t.type AS type, t.category AS category, SUM(t.amount) AS total FROM LedgerTransaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.type, t.category")
+    List<TransactionRepository.CategoryTotal> sumByTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    @Query("SELECT t.type AS type, t.category AS category, SUM(t.amount) AS total FROM LedgerTransaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive " +
+           "GROUP BY t.type, t.category")
+    List<TransactionRepository.CategoryTotal> sumByTypeAndCategoryUntil(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    @Query("SELECT year(t.transactionDate) AS calendarYear, month(t.transactionDate) AS calendarMonth, " +
+           "day(t.transactionDate) AS calendarDay, t.type AS type, t.category AS category, SUM(t.amount) AS total " +
+           "FROM LedgerTransaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive " +
+           "GROUP BY year(t.transactionDate), month(t.transactionDate), day(t.transactionDate), t.type, t.category")
+    List<TransactionRepository.DailyCategoryTotal> sumByDayTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate" + KEYSET_ORDER)
+    List<TransactionDTO> findRecentDtos(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    // Exports reach archived months too; rows are projected into DTOs, so none are held by the persistence context
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(SELECT_DTO + " WHERE (:startDate IS NULL OR t.transactionDate >= :startDate) " +
+           "AND (:endDate IS NULL OR t.transactionDate <= :endDate) " +
+           "AND (:type IS NULL OR t.type = :type) " +
+           "AND (:division IS NULL OR t.division = :division) " +
+           "AND (:category IS NULL OR t.category = :category) " +
+           "ORDER BY t.transactionDate, t.id")
+    Stream<TransactionDTO> streamDtosForExport(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("type") Transaction.TransactionType type,
+        @Param("division") Transaction.Division division,
+        @Param("category") String category,
+        @Param("cutoff") LocalDateTime cutoff
+    );
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM LedgerTransaction t ORDER BY t.transactionDate, t.id")
+    Stream<LedgerTransaction> streamAll();
+    
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM LedgerTransaction t WHERE t.updatedAt >= :since")
+    Stream<LedgerTransaction> streamUpdatedSince(@Param("since") LocalDateTime since);
+}
@@ -0,0 +1,17 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.RecurringTemplate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RecurringTemplateRepository extends JpaRepository<RecurringTemplate, Long> {
+    
+    @Query("SELECT t.id FROM RecurringTemplate t WHERE t.active = true AND t.nextOccurrenceAt <= :now ORDER BY t.nextOccurrenceAt")
+    List<Long> findDueIds(@Param("now") LocalDateTime now);
+}
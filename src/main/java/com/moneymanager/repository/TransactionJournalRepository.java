@@ -0,0 +1,28 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.TransactionJournalEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TransactionJournalRepository extends JpaRepository<TransactionJournalEntry, Long> {
+    
+    // Oracle does not allow FOR UPDATE together with a row limit, so the batch is bounded by sequence number first
+    @Query(value = "SELECT MAX(sequence_no) FROM (" +
+                   "SELECT sequence_no FROM transaction_journal ORDER BY sequence_no FETCH FIRST :batchSize ROWS ONLY)",
+           nativeQuery = true)
+    Long findBatchUpperBound(@Param("batchSize") int batchSize);
+    
+    // Rows another projector has claimed are skipped rather than waited on
+    @Query(value = "SELECT * FROM transaction_journal WHERE sequence_no <= :upTo ORDER BY sequence_no FOR UPDATE SKIP LOCKED",
+           nativeQuery = true)
+    List<TransactionJournalEntry> lockUpTo(@Param("upTo") Long upTo);
+    
+    boolean existsBySequenceNoLessThanEqual(Long sequenceNo);
+    
+    boolean existsByFromAccountOrToAccount(String fromAccount, String toAccount);
+}
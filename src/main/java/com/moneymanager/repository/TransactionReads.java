@@ -0,0 +1,67 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.Transaction;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+// DTO reads shared by the hot table (TransactionRepository) and the hot + archive ledger (LedgerTransactionRepository);
+// each repository declares the queries against its own entity, and callers pick one per request
+public interface TransactionReads {
+    
+    // The leading bound gives the planner a range on transaction_date; the OR alone is planned as a full scan
+    String KEYSET_BEFORE_CURSOR = "t.transactionDate <= :cursorDate " +
+        "AND (t.transactionDate < :cursorDate OR (t.transactionDate = :cursorDate AND t.id < :cursorId))";
+    String KEYSET_ORDER = " ORDER BY t.transactionDate DESC, t.id DESC";
+    // Reads project straight into DTOs so no managed entities or dirty-checking snapshots are created
+    String DTO_COLUMNS = "SELECT new com.moneymanager.dto.TransactionDTO(t.id, t.type, t.amount, t.category, t.division, " +
+        "t.description, t.transactionDate, t.fromAccount, t.toAccount, t.createdAt, t.updatedAt, " +
+        "CASE WHEN t.isEditable = true AND t.createdAt > :cutoff THEN true ELSE false END)";
+    // The types summed into dashboards and reports; transfers move money between accounts and are left out
+    Set<Transaction.TransactionType> INCOME_AND_EXPENSE =
+        Set.of(Transaction.TransactionType.INCOME, Transaction.TransactionType.EXPENSE);
+    
+    Optional<TransactionDTO> findDtoById(Long id, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findDtosByIds(Collection<Long> ids, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findDtosByDateRange(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findDtosByType(Transaction.TransactionType type, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findDtosByDivision(Transaction.Division division, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findDtosByCategory(String category, LocalDateTime cutoff);
+    
+    List<TransactionDTO> findAllDtosOrderByDateDesc(LocalDateTime cutoff);
+    
+    List<TransactionDTO> findPageBefore(LocalDateTime cursorDate, Long cursorId, LocalDateTime cutoff, Pageable pageable);
+    
+    List<TransactionDTO> findPageByDateRangeBefore(LocalDateTime startDate, LocalDateTime endDate,
+                                                   LocalDateTime cursorDate, Long cursorId, LocalDateTime cutoff, Pageable pageable);
+    
+    List<TransactionDTO> findPageByTypeBefore(Transaction.TransactionType type,
+                                              LocalDateTime cursorDate, Long cursorId, LocalDateTime cutoff, Pageable pageable);
+    
+    List<TransactionDTO> findPageByDivisionBefore(Transaction.Division division,
+                                                  LocalDateTime cursorDate, Long cursorId, LocalDateTime cutoff, Pageable pageable);
+    
+    List<TransactionDTO> findPageByCategoryBefore(String category,
+                                                  LocalDateTime cursorDate, Long cursorId, LocalDateTime cutoff, Pageable pageable);
+    
+    List<TransactionRepository.CategoryTotal> sumByTypeAndCategory(Collection<Transaction.TransactionType> types,
+                                                                   LocalDateTime startDate, LocalDateTime endDate);
+    
+    List<TransactionRepository.CategoryTotal> sumByTypeAndCategoryUntil(Collection<Transaction.TransactionType> types,
+                                                                        LocalDateTime startDate, LocalDateTime endExclusive);
+    
+    List<TransactionRepository.DailyCategoryTotal> sumByDayTypeAndCategory(Collection<Transaction.TransactionType> types,
+                                                                           LocalDateTime startDate, LocalDateTime endExclusive);
+    
+    List<TransactionDTO> findRecentDtos(LocalDateTime startDate, LocalDateTime endDate, LocalDateTime cutoff, Pageable pageable);
+}
@@ -1,24 +1,50 @@
 package com.moneymanager.repository;
 
+import com.moneymanager.dto.TransactionDTO;
 import com.moneymanager.model.Transaction;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, Long> {
+public interface TransactionRepository extends JpaRepository<Transaction, Long>, TransactionReads {
+    
+    String SELECT_DTO = DTO_COLUMNS + " FROM Transaction t";
     
     List<Transaction> findByTransactionDateBetween(LocalDateTime startDate, LocalDateTime endDate);
     
-    List<Transaction> findByType(Transaction.TransactionType type);
+    @Query(SELECT_DTO + " WHERE t.id = :id")
+    Optional<TransactionDTO> findDtoById(@Param("id") Long id, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.id IN :ids")
+    List<TransactionDTO> findDtosByIds(@Param("ids") Collection<Long> ids, @Param("cutoff") LocalDateTime cutoff);
     
-    List<Transaction> findByDivision(Transaction.Division division);
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate")
+    List<TransactionDTO> findDtosByDateRange(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cutoff") LocalDateTime cutoff
+    );
     
-    List<Transaction> findByCategory(String category);
+    @Query(SELECT_DTO + " WHERE t.type = :type")
+    List<TransactionDTO> findDtosByType(@Param("type") Transaction.TransactionType type, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.division = :division")
+    List<TransactionDTO> findDtosByDivision(@Param("division") Transaction.Division division, @Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE t.category = :category")
+    List<TransactionDTO> findDtosByCategory(@Param("category") String category, @Param("cutoff") LocalDateTime cutoff);
     
     @Query("SELECT t FROM Transaction t WHERE t.type = :type AND t.transactionDate BETWEEN :startDate AND :endDate")
     List<Transaction> findByTypeAndDateRange(
@@ -41,9 +67,155 @@ public interface TransactionRepository extends JpaRepository<Transaction, Long>
         @Param("endDate") LocalDateTime endDate
     );
     
-    @Query("SELECT t FROM Transaction t ORDER BY t.transactionDate DESC")
-    List<Transaction> findAllOrderByDateDesc();
+    @Query(SELECT_DTO + " ORDER BY t.transactionDate DESC")
+    List<TransactionDTO> findAllDtosOrderByDateDesc(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Query(SELECT_DTO + " WHERE " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageBefore(
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByDateRangeBefore(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.type = :type AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByTypeBefore(
+        @Param("type") Transaction.TransactionType type,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.division = :division AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByDivisionBefore(
+        @Param("division") Transaction.Division division,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.category = :category AND " + KEYSET_BEFORE_CURSOR + KEYSET_ORDER)
+    List<TransactionDTO> findPageByCategoryBefore(
+        @Param("category") String category,
+        @Param("cursorDate") LocalDateTime cursorDate,
+        @Param("cursorId") Long cursorId,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    @Query("SELECT t.type AS type, t.category AS category, SUM(t.amount) AS total FROM Transaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate " +
+           "GROUP BY t.type, t.category")
+    List<CategoryTotal> sumByTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate
+    );
+    
+    @Query("SELECT t.type AS type, t.category AS category, SUM(t.amount) AS total FROM Transaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive " +
+           "GROUP BY t.type, t.category")
+    List<CategoryTotal> sumByTypeAndCategoryUntil(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    // Expense spend per category and division over a half-open range, seeding the in-memory budget counters
+    @Query("SELECT t.category AS category, t.division AS division, SUM(t.amount) AS total FROM Transaction t " +
+           "WHERE t.type = :type " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive " +
+           "GROUP BY t.category, t.division")
+    List<CategoryDivisionTotal> sumExpensesByCategoryAndDivision(
+        @Param("type") Transaction.TransactionType type,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    @Query("SELECT COALESCE(SUM(t.amount), 0) FROM Transaction t " +
+           "WHERE t.type = :type " +
+           "AND t.category = :category AND t.division = :division " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive")
+    BigDecimal sumExpenses(
+        @Param("type") Transaction.TransactionType type,
+        @Param("category") String category,
+        @Param("division") Transaction.Division division,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    // Per-day totals over a half-open range, for reports that fold days into weeks, months or years
+    @Query("SELECT year(t.transactionDate) AS calendarYear, month(t.transactionDate) AS calendarMonth, " +
+           "day(t.transactionDate) AS calendarDay, t.type AS type, t.category AS category, SUM(t.amount) AS total " +
+           "FROM Transaction t " +
+           "WHERE t.type IN :types " +
+           "AND t.transactionDate >= :startDate AND t.transactionDate < :endExclusive " +
+           "GROUP BY year(t.transactionDate), month(t.transactionDate), day(t.transactionDate), t.type, t.category")
+    List<DailyCategoryTotal> sumByDayTypeAndCategory(
+        @Param("types") Collection<Transaction.TransactionType> types,
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endExclusive") LocalDateTime endExclusive
+    );
+    
+    @Query(SELECT_DTO + " WHERE t.transactionDate BETWEEN :startDate AND :endDate" + KEYSET_ORDER)
+    List<TransactionDTO> findRecentDtos(
+        @Param("startDate") LocalDateTime startDate,
+        @Param("endDate") LocalDateTime endDate,
+        @Param("cutoff") LocalDateTime cutoff,
+        Pageable pageable
+    );
+    
+    // Rows still inside the edit window, part of the transactions ETag (see ResourceVersions)
+    @Query("SELECT COUNT(t) FROM Transaction t WHERE t.isEditable = true AND t.createdAt > :cutoff")
+    long countEditableCreatedAfter(@Param("cutoff") LocalDateTime cutoff);
+    
+    // The newest row to have left the edit window that the sweep has not reached yet
+    @Query("SELECT MAX(t.createdAt) FROM Transaction t WHERE t.isEditable = true AND t.createdAt <= :cutoff")
+    LocalDateTime findLatestEditableCreatedAtOrBefore(@Param("cutoff") LocalDateTime cutoff);
+    
+    @Transactional
+    @Modifying
+    @Query(value = "UPDATE transactions SET is_editable = 0 " +
+                   "WHERE is_editable = 1 AND created_at <= :cutoff AND ROWNUM <= :batchSize",
+           nativeQuery = true)
+    int lockTransactionsCreatedBefore(
+        @Param("cutoff") LocalDateTime cutoff,
+        @Param("batchSize") int batchSize
+    );
+    
+    interface CategoryTotal {
+        Transaction.TransactionType getType();
+        String getCategory();
+        BigDecimal getTotal();
+    }
+    
+    interface CategoryDivisionTotal {
+        String getCategory();
+        Transaction.Division getDivision();
+        BigDecimal getTotal();
+    }
     
-    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.type = :type")
-    List<String> findDistinctCategoriesByType(@Param("type") Transaction.TransactionType type);
+    interface DailyCategoryTotal extends CategoryTotal {
+        Integer getCalendarYear();
+        Integer getCalendarMonth();
+        Integer getCalendarDay();
+        
+        default LocalDate getDate() {
+            return LocalDate.of(getCalendarYear(), getCalendarMonth(), getCalendarDay());
+        }
+    }
 }
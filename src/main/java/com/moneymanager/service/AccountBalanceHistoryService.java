@@ -0,0 +1,113 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.AccountBalanceDTO;
+import com.moneymanager.model.AccountBalanceCheckpoint;
+import com.moneymanager.model.AccountBalanceCheckpointId;
+import com.moneymanager.model.AccountBalanceLedgerEntry;
+import com.moneymanager.repository.AccountBalanceCheckpointRepository;
+import com.moneymanager.repository.AccountBalanceLedgerRepository;
+import com.moneymanager.repository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AccountBalanceHistoryService {
+    
+    private static final PageRequest LATEST = PageRequest.of(0, 1);
+    
+    private final AccountBalanceLedgerRepository ledgerRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final AccountRepository accountRepository;
+    private final AccountNameResolver accountNameResolver;
+    private final TransactionTemplate transactionTemplate;
+    
+    // Checkpoints trail the clock so that changes dated just before them rarely have to adjust one
+    @Value("${moneymanager.balance.checkpoint-lag:PT5M}")
+    private Duration checkpointLag;
+    
+    // Entries are keyed by the date each change takes effect, so a backdated change also moves every checkpoint at or
+    // after its date. The account's row lock orders this against a checkpoint being taken: either the change commits
+    // before the checkpoint sums the ledger, or it finds the checkpoint and adjusts it.
+    @Transactional
+    public void record(Long accountId, Map<LocalDateTime, BigDecimal> deltasByDate) {
+        accountRepository.lockById(accountId);
+        LocalDateTime latestCheckpoint = checkpointRepository.findLatestCheckpointAt(accountId);
+        List<AccountBalanceLedgerEntry> entries = new ArrayList<>(deltasByDate.size());
+        deltasByDate.forEach((effectiveAt, delta) -> {
+            entries.add(new AccountBalanceLedgerEntry(null, accountId, delta, effectiveAt));
+            if (latestCheckpoint != null && !effectiveAt.isAfter(latestCheckpoint)) {
+                checkpointRepository.addToCheckpointsFrom(accountId, effectiveAt, delta);
+            }
+        });
+        ledgerRepository.saveAll(entries);
+    }
+    
+    @Transactional(readOnly = true)
+    public AccountBalanceDTO getBalanceAt(String accountName, LocalDateTime at) {
+        Long accountId = accountNameResolver.resolve(accountName);
+        Optional<AccountBalanceCheckpoint> checkpoint = latestCheckpoint(accountId, at);
+        
+        BigDecimal balance = checkpoint.map(AccountBalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO);
+        BigDecimal since = ledgerRepository.sumDeltas(accountId, checkpoint.map(c -> c.getId().getCheckpointAt()).orElse(null), at);
+        if (since != null) {
+            balance = balance.add(since);
+        }
+        return new AccountBalanceDTO(accountName, at, balance);
+    }
+    
+    @Scheduled(
+        initialDelayString = "${moneymanager.balance.checkpoint-interval:PT1H}",
+        fixedDelayString = "${moneymanager.balance.checkpoint-interval:PT1H}"
+    )
+    public void checkpoint() {
+        LocalDateTime checkpointAt = LocalDateTime.now().minus(checkpointLag);
+        int written = 0;
+        for (AccountRepository.AccountIdName account : accountRepository.findAllIdsAndNames()) {
+            if (Boolean.TRUE.equals(transactionTemplate.execute(status -> checkpoint(account.getId(), checkpointAt)))) {
+                written++;
+            }
+        }
+        
+        if (written > 0) {
+            log.debug("Wrote balance checkpoints at {} for {} accounts", checkpointAt, written);
+        }
+    }
+    
+    // One short transaction per account, holding its row lock so no change to it is in flight while the ledger is summed
+    private boolean checkpoint(Long accountId, LocalDateTime checkpointAt) {
+        if (accountRepository.lockById(accountId) == null) {
+            return false;
+        }
+        Optional<AccountBalanceCheckpoint> previous = latestCheckpoint(accountId, checkpointAt);
+        BigDecimal since = ledgerRepository.sumDeltas(
+            accountId, previous.map(c -> c.getId().getCheckpointAt()).orElse(null), checkpointAt);
+        // Idle accounts keep their last checkpoint; the delta sum after it stays empty
+        if (since == null) {
+            return false;
+        }
+        BigDecimal balance = previous.map(AccountBalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO).add(since);
+        checkpointRepository.save(new AccountBalanceCheckpoint(new AccountBalanceCheckpointId(accountId, checkpointAt), balance));
+        return true;
+    }
+    
+    private Optional<AccountBalanceCheckpoint> latestCheckpoint(Long accountId, LocalDateTime at) {
+        List<AccountBalanceCheckpoint> checkpoints = checkpointRepository.findLatestAtOrBefore(accountId, at, LATEST);
+        return checkpoints.stream().findFirst();
+    }
+}
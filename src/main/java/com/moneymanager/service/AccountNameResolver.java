@@ -0,0 +1,53 @@
+package com.moneymanager.service;
+
+import com.moneymanager.exception.ResourceNotFoundException;
+import com.moneymanager.model.Account;
+import com.moneymanager.repository.AccountRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Account name -> id map, loaded at startup and kept in sync by AccountService, so balance updates
+// go straight to the primary key and unknown names are rejected without a query
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class AccountNameResolver {
+    
+    private final AccountRepository accountRepository;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    
+    @PostConstruct
+    public void load() {
+        accountRepository.findAllIdsAndNames()
+            .forEach(account -> idsByName.put(account.getAccountName(), account.getId()));
+        log.info("Loaded {} account names", idsByName.size());
+    }
+    
+    public Long resolve(String accountName) {
+        Long id = idsByName.get(accountName);
+        if (id == null) {
+            throw new ResourceNotFoundException("Account not found: " + accountName);
+        }
+        return id;
+    }
+    
+    public boolean contains(String accountName) {
+        return idsByName.containsKey(accountName);
+    }
+    
+    public void registerAfterCommit(Account account) {
+        String accountName = account.getAccountName();
+        Long id = account.getId();
+        AfterCommit.run(() -> idsByName.put(accountName, id));
+    }
+    
+    public void removeAfterCommit(Account account) {
+        String accountName = account.getAccountName();
+        AfterCommit.run(() -> idsByName.remove(accountName));
+    }
+}
@@ -1,22 +1,32 @@
 package com.moneymanager.service;
 
 import com.moneymanager.dto.AccountDTO;
+import com.moneymanager.exception.AccountInUseException;
 import com.moneymanager.exception.ResourceNotFoundException;
 import com.moneymanager.model.Account;
 import com.moneymanager.repository.AccountRepository;
+import com.moneymanager.repository.TransactionJournalRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "moneymanager.service", histogram = true)
 public class AccountService {
     
     private final AccountRepository accountRepository;
+    private final TransactionJournalRepository journalRepository;
+    private final AccountNameResolver accountNameResolver;
+    private final AccountBalanceHistoryService balanceHistoryService;
+    private final ResourceVersions resourceVersions;
     
     @Transactional
     public AccountDTO createAccount(String accountName, BigDecimal initialBalance, Account.AccountType accountType) {
@@ -26,35 +36,53 @@ public class AccountService {
         account.setAccountType(accountType);
         
         Account savedAccount = accountRepository.save(account);
+        accountNameResolver.registerAfterCommit(savedAccount);
+        resourceVersions.changed(ResourceVersions.Resource.ACCOUNTS);
+        if (initialBalance.signum() != 0) {
+            balanceHistoryService.record(savedAccount.getId(), Map.of(savedAccount.getCreatedAt(), initialBalance));
+        }
         return convertToDTO(savedAccount);
     }
     
+    // The balance history is recorded by the caller, which knows the date each part of the amount takes effect
     @Transactional
     public void updateBalance(String accountName, BigDecimal amount) {
-        Account account = accountRepository.findByAccountName(accountName)
-            .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountName));
-        
-        account.setBalance(account.getBalance().add(amount));
-        accountRepository.save(account);
+        // Single atomic UPDATE by primary key: concurrent posts to the same account cannot overwrite each other
+        Long accountId = accountNameResolver.resolve(accountName);
+        int updated = accountRepository.adjustBalance(accountId, amount, LocalDateTime.now());
+        if (updated == 0) {
+            throw new ResourceNotFoundException("Account not found: " + accountName);
+        }
+        resourceVersions.changed(ResourceVersions.Resource.ACCOUNTS);
+    }
+    
+    public void requireAccounts(Collection<String> accountNames) {
+        accountNames.forEach(accountNameResolver::resolve);
     }
     
+    @Transactional(readOnly = true)
     public AccountDTO getAccountByName(String accountName) {
-        Account account = accountRepository.findByAccountName(accountName)
+        return accountRepository.findDtoById(accountNameResolver.resolve(accountName))
             .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + accountName));
-        return convertToDTO(account);
     }
     
+    @Transactional(readOnly = true)
     public List<AccountDTO> getAllAccounts() {
-        return accountRepository.findAll().stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return accountRepository.findAllDtos();
     }
     
     @Transactional
     public void deleteAccount(Long id) {
         Account account = accountRepository.findById(id)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found with id: " + id));
+        // A journal entry still to be projected would have no account to post its balance change to
+        if (journalRepository.existsByFromAccountOrToAccount(account.getAccountName(), account.getAccountName())) {
+            throw new AccountInUseException("Account " + account.getAccountName()
+                + " has journal entries waiting to be projected; retry shortly");
+        }
         accountRepository.delete(account);
+        accountNameResolver.removeAfterCommit(account);
+        resourceVersions.changed(ResourceVersions.Resource.ACCOUNTS);
     }
     
     private AccountDTO convertToDTO(Account account) {
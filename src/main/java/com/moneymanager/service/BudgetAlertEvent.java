@@ -0,0 +1,21 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.BudgetAlert;
+import com.moneymanager.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+// Published by BudgetTracker after the write that crossed the line has committed
+public record BudgetAlertEvent(
+    Long budgetId,
+    String category,
+    Transaction.Division division,
+    YearMonth month,
+    BudgetAlert.Level level,
+    BigDecimal spent,
+    BigDecimal monthlyLimit,
+    LocalDateTime raisedAt
+) {
+}
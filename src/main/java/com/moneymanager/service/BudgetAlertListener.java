@@ -0,0 +1,33 @@
+package com.moneymanager.service;
+
+import com.moneymanager.repository.BudgetAlertRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+// Records alerts on the async executor, so the write that raised one returns without waiting for the insert
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BudgetAlertListener {
+    
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final MeterRegistry meterRegistry;
+    
+    @Async
+    @EventListener
+    public void onBudgetAlert(BudgetAlertEvent event) {
+        log.warn("Budget {} ({} / {}) {} for {}: spent {} of {}", event.budgetId(), event.category(), event.division(),
+            event.level(), event.month(), event.spent(), event.monthlyLimit());
+        meterRegistry.counter("moneymanager.budget.alerts", "level", event.level().name()).increment();
+        int inserted = budgetAlertRepository.insertIfAbsent(event.budgetId(), event.month().atDay(1), event.level().name(),
+            event.spent(), event.monthlyLimit(), event.raisedAt());
+        if (inserted == 0) {
+            // The budget was deleted after the alert was raised, or this level was already recorded for the month
+            log.debug("Dropped {} alert for budget {}: deleted or already raised", event.level(), event.budgetId());
+        }
+    }
+}
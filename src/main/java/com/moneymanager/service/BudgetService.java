@@ -0,0 +1,154 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.BudgetAlertDTO;
+import com.moneymanager.dto.BudgetDTO;
+import com.moneymanager.dto.BudgetRequestDTO;
+import com.moneymanager.exception.DuplicateBudgetException;
+import com.moneymanager.exception.ResourceNotFoundException;
+import com.moneymanager.model.Budget;
+import com.moneymanager.model.BudgetAlert;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.BudgetAlertRepository;
+import com.moneymanager.repository.BudgetRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "moneymanager.service", histogram = true)
+public class BudgetService {
+    
+    private static final int DEFAULT_THRESHOLD_PERCENT = 80;
+    private static final int MAX_ALERTS = 200;
+    
+    private final BudgetRepository budgetRepository;
+    private final BudgetAlertRepository budgetAlertRepository;
+    private final BudgetTracker budgetTracker;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionTemplate transactionTemplate;
+    
+    public BudgetDTO createBudget(BudgetRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> create(requestDTO));
+    }
+    
+    private BudgetDTO create(BudgetRequestDTO requestDTO) {
+        if (budgetRepository.existsByCategoryAndDivision(requestDTO.getCategory(), requestDTO.getDivision())) {
+            throw new DuplicateBudgetException("A budget already exists for " + requestDTO.getCategory()
+                + " / " + requestDTO.getDivision());
+        }
+        Budget budget = new Budget();
+        registerCategory(requestDTO);
+        apply(budget, requestDTO);
+        
+        Budget savedBudget = budgetRepository.save(budget);
+        budgetTracker.trackAfterCommit(savedBudget);
+        return convertToDTO(savedBudget);
+    }
+    
+    public BudgetDTO updateBudget(Long id, BudgetRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> update(id, requestDTO));
+    }
+    
+    private BudgetDTO update(Long id, BudgetRequestDTO requestDTO) {
+        Budget budget = budgetRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        boolean rekeyed = !budget.getCategory().equals(requestDTO.getCategory())
+            || budget.getDivision() != requestDTO.getDivision();
+        if (rekeyed && budgetRepository.existsByCategoryAndDivision(requestDTO.getCategory(), requestDTO.getDivision())) {
+            throw new DuplicateBudgetException("A budget already exists for " + requestDTO.getCategory()
+                + " / " + requestDTO.getDivision());
+        }
+        registerCategory(requestDTO);
+        apply(budget, requestDTO);
+        
+        Budget updatedBudget = budgetRepository.save(budget);
+        budgetTracker.trackAfterCommit(updatedBudget);
+        return convertToDTO(updatedBudget);
+    }
+    
+    @Transactional
+    public void deleteBudget(Long id) {
+        Budget budget = budgetRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+        budgetRepository.delete(budget);
+        budgetTracker.untrackAfterCommit(id);
+    }
+    
+    // Spend comes from the in-memory counters, so listing budgets runs no aggregate query
+    @Transactional(readOnly = true)
+    public BudgetDTO getBudgetById(Long id) {
+        return budgetRepository.findById(id)
+            .map(this::convertToDTO)
+            .orElseThrow(() -> new ResourceNotFoundException("Budget not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BudgetDTO> getAllBudgets() {
+        return budgetRepository.findAll().stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+    
+    @Transactional(readOnly = true)
+    public List<BudgetAlertDTO> getAlerts(Long budgetId, int size) {
+        PageRequest page = PageRequest.of(0, Math.max(1, Math.min(size, MAX_ALERTS)));
+        List<BudgetAlert> alerts = budgetId != null
+            ? budgetAlertRepository.findByBudgetIdOrderByRaisedAtDesc(budgetId, page)
+            : budgetAlertRepository.findAllByOrderByRaisedAtDesc(page);
+        return alerts.stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+    
+    private void apply(Budget budget, BudgetRequestDTO requestDTO) {
+        budget.setCategory(requestDTO.getCategory());
+        budget.setDivision(requestDTO.getDivision());
+        budget.setMonthlyLimit(requestDTO.getMonthlyLimit());
+        budget.setThresholdPercent(requestDTO.getThresholdPercent() != null
+            ? requestDTO.getThresholdPercent()
+            : DEFAULT_THRESHOLD_PERCENT);
+    }
+    
+    // Budgets track expenses, so the category is registered as one, in the budget's transaction once the duplicate
+    // check has passed
+    private void registerCategory(BudgetRequestDTO requestDTO) {
+        categoryDictionary.register(Transaction.TransactionType.EXPENSE, requestDTO.getCategory());
+    }
+    
+    private BudgetDTO convertToDTO(Budget budget) {
+        BigDecimal spent = budgetTracker.spent(budget.getCategory(), budget.getDivision());
+        BudgetDTO dto = new BudgetDTO();
+        dto.setId(budget.getId());
+        dto.setCategory(budget.getCategory());
+        dto.setDivision(budget.getDivision());
+        dto.setMonthlyLimit(budget.getMonthlyLimit());
+        dto.setThresholdPercent(budget.getThresholdPercent());
+        dto.setMonth(budgetTracker.month());
+        dto.setSpent(spent);
+        dto.setRemaining(budget.getMonthlyLimit().subtract(spent));
+        dto.setCreatedAt(budget.getCreatedAt());
+        dto.setUpdatedAt(budget.getUpdatedAt());
+        return dto;
+    }
+    
+    private BudgetAlertDTO convertToDTO(BudgetAlert alert) {
+        BudgetAlertDTO dto = new BudgetAlertDTO();
+        dto.setId(alert.getId());
+        dto.setBudgetId(alert.getBudgetId());
+        dto.setMonth(YearMonth.from(alert.getBudgetMonth()));
+        dto.setLevel(alert.getLevel());
+        dto.setSpentAmount(alert.getSpentAmount());
+        dto.setMonthlyLimit(alert.getMonthlyLimit());
+        dto.setRaisedAt(alert.getRaisedAt());
+        return dto;
+    }
+}
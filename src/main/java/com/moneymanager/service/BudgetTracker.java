@@ -0,0 +1,240 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Budget;
+import com.moneymanager.model.BudgetAlert;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.BudgetRepository;
+import com.moneymanager.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Running expense per budget for the current month, held in memory so a write checks its budget with one hash lookup
+// and an atomic add rather than re-summing the month. Seeded from the database at startup and when the month turns.
+// A write holds the read side of the seeding lock from just before its commit until its changes are applied, and a
+// seed holds the write side over its query and the swap, so every committed write is counted exactly once: either the
+// seed query sees it or it lands on the new counters. Budget and transaction writes never share a transaction, so a
+// thread holding the read side never goes on to seed.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BudgetTracker {
+    
+    private static final int SCALE = 2;
+    
+    private final BudgetRepository budgetRepository;
+    private final TransactionRepository transactionRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ReentrantReadWriteLock seeding = new ReentrantReadWriteLock();
+    
+    private volatile MonthCounters counters;
+    
+    @PostConstruct
+    public void load() {
+        seed(YearMonth.now(), true);
+    }
+    
+    @Scheduled(fixedDelayString = "${moneymanager.budgets.reseed-interval:PT1H}",
+               initialDelayString = "${moneymanager.budgets.reseed-interval:PT1H}")
+    public void reseed() {
+        seed(YearMonth.now(), true);
+    }
+    
+    // Changes come in pairs on update (reverted, applied), so moving an expense between budgets or months nets out
+    public void applyAfterCommit(List<TransactionChange> changes) {
+        if (changes.stream().noneMatch(change -> change.type() == Transaction.TransactionType.EXPENSE)) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            seeding.readLock().lock();
+            try {
+                apply(changes);
+            } finally {
+                seeding.readLock().unlock();
+            }
+            catchUpMonth();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            private boolean locked;
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                seeding.readLock().lock();
+                locked = true;
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                if (!locked) {
+                    return;
+                }
+                try {
+                    if (status == STATUS_COMMITTED) {
+                        apply(changes);
+                    }
+                } finally {
+                    seeding.readLock().unlock();
+                }
+                catchUpMonth();
+            }
+        });
+    }
+    
+    // Caller holds the read lock. Changes for a month not seeded yet are skipped: the seed that follows reads them back
+    void apply(List<TransactionChange> changes) {
+        MonthCounters month = counters;
+        for (TransactionChange change : changes) {
+            if (change.type() != Transaction.TransactionType.EXPENSE
+                    || !month.month().equals(YearMonth.from(change.transactionDate()))) {
+                continue;
+            }
+            Counter counter = month.counters().get(new Key(change.category(), change.division()));
+            if (counter == null) {
+                continue;
+            }
+            long delta = change.sign() * MoneyAccumulator.roundToCents(change.amount());
+            long spent = counter.spentCents.addAndGet(delta);
+            if (delta > 0) {
+                // Only the write that carries the total across a line raises its alert
+                long before = spent - delta;
+                if (before < counter.thresholdCents && spent >= counter.thresholdCents && spent < counter.limitCents) {
+                    raise(counter, month.month(), BudgetAlert.Level.THRESHOLD, spent);
+                }
+                if (before < counter.limitCents && spent >= counter.limitCents) {
+                    raise(counter, month.month(), BudgetAlert.Level.EXCEEDED, spent);
+                }
+            }
+        }
+    }
+    
+    // Current month's spend for the budget's category and division; zero for a budget not tracked yet
+    public BigDecimal spent(String category, Transaction.Division division) {
+        Counter counter = current().counters().get(new Key(category, division));
+        return counter != null ? fromCents(counter.spentCents.get()) : BigDecimal.ZERO.setScale(SCALE);
+    }
+    
+    public YearMonth month() {
+        return current().month();
+    }
+    
+    // Under the write lock like a seed, so the targeted sum and the writes committing around it cannot miss each other
+    public void trackAfterCommit(Budget budget) {
+        Long id = budget.getId();
+        Key key = new Key(budget.getCategory(), budget.getDivision());
+        long limitCents = MoneyAccumulator.roundToCents(budget.getMonthlyLimit());
+        int thresholdPercent = budget.getThresholdPercent();
+        AfterCommit.run(() -> exclusively(() -> {
+            MonthCounters month = current();
+            // A changed limit keeps the running total; a new or re-keyed budget is seeded with one targeted sum
+            Counter previous = month.counters().get(key);
+            long spentCents = previous != null && previous.id.equals(id)
+                ? previous.spentCents.get()
+                : MoneyAccumulator.roundToCents(transactionRepository.sumExpenses(Transaction.TransactionType.EXPENSE,
+                    key.category(), key.division(),
+                    month.month().atDay(1).atStartOfDay(), month.month().plusMonths(1).atDay(1).atStartOfDay()));
+            month.counters().values().removeIf(counter -> counter.id.equals(id));
+            month.counters().put(key, new Counter(id, key, limitCents, thresholdPercent, spentCents));
+        }));
+    }
+    
+    public void untrackAfterCommit(Long id) {
+        AfterCommit.run(() -> exclusively(() -> current().counters().values().removeIf(counter -> counter.id.equals(id))));
+    }
+    
+    private void exclusively(Runnable action) {
+        seeding.writeLock().lock();
+        try {
+            action.run();
+        } finally {
+            seeding.writeLock().unlock();
+        }
+    }
+    
+    // The first write after the month turns seeds the new month, so the writes after it are counted again
+    private void catchUpMonth() {
+        current();
+    }
+    
+    private MonthCounters current() {
+        MonthCounters month = counters;
+        YearMonth now = YearMonth.now();
+        return month.month().equals(now) ? month : seed(now, false);
+    }
+    
+    // Without force, writers that all notice the new month wait for one seed instead of each running their own
+    private MonthCounters seed(YearMonth month, boolean force) {
+        seeding.writeLock().lock();
+        try {
+            MonthCounters seeded = counters;
+            if (!force && seeded != null && seeded.month().equals(month)) {
+                return seeded;
+            }
+            Map<Key, Long> spentByKey = new HashMap<>();
+            transactionRepository.sumExpensesByCategoryAndDivision(Transaction.TransactionType.EXPENSE,
+                    month.atDay(1).atStartOfDay(), month.plusMonths(1).atDay(1).atStartOfDay())
+                .forEach(total -> spentByKey.put(new Key(total.getCategory(), total.getDivision()), MoneyAccumulator.roundToCents(total.getTotal())));
+            
+            Map<Key, Counter> budgets = new ConcurrentHashMap<>();
+            for (Budget budget : budgetRepository.findAll()) {
+                Key key = new Key(budget.getCategory(), budget.getDivision());
+                budgets.put(key, new Counter(budget.getId(), key, MoneyAccumulator.roundToCents(budget.getMonthlyLimit()),
+                    budget.getThresholdPercent(), spentByKey.getOrDefault(key, 0L)));
+            }
+            seeded = new MonthCounters(month, budgets);
+            counters = seeded;
+            log.debug("Seeded {} budget counters for {}", budgets.size(), month);
+            return seeded;
+        } finally {
+            seeding.writeLock().unlock();
+        }
+    }
+    
+    private void raise(Counter counter, YearMonth month, BudgetAlert.Level level, long spentCents) {
+        eventPublisher.publishEvent(new BudgetAlertEvent(counter.id, counter.key.category(), counter.key.division(),
+            month, level, fromCents(spentCents), fromCents(counter.limitCents), LocalDateTime.now()));
+    }
+    
+    private static BigDecimal fromCents(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+    
+    private record Key(String category, Transaction.Division division) {
+    }
+    
+    private record MonthCounters(YearMonth month, Map<Key, Counter> counters) {
+    }
+    
+    private static final class Counter {
+        
+        private final Long id;
+        private final Key key;
+        private final long limitCents;
+        private final long thresholdCents;
+        private final AtomicLong spentCents;
+        
+        private Counter(Long id, Key key, long limitCents, int thresholdPercent, long spentCents) {
+            this.id = id;
+            this.key = key;
+            this.limitCents = limitCents;
+            this.thresholdCents = limitCents * thresholdPercent / 100;
+            this.spentCents = new AtomicLong(spentCents);
+        }
+    }
+}
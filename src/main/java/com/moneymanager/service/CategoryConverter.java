@@ -0,0 +1,27 @@
+package com.moneymanager.service;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.springframework.beans.factory.ObjectProvider;
+
+// Maps category names to dictionary ids in the database. The dictionary is looked up lazily: Hibernate builds
+// converters while creating the EntityManagerFactory that the dictionary itself depends on.
+@Converter
+public class CategoryConverter implements AttributeConverter<String, Long> {
+    
+    private final ObjectProvider<CategoryDictionary> categoryDictionary;
+    
+    public CategoryConverter(ObjectProvider<CategoryDictionary> categoryDictionary) {
+        this.categoryDictionary = categoryDictionary;
+    }
+    
+    @Override
+    public Long convertToDatabaseColumn(String name) {
+        return name != null ? categoryDictionary.getObject().idOf(name) : null;
+    }
+    
+    @Override
+    public String convertToEntityAttribute(Long id) {
+        return id != null ? categoryDictionary.getObject().nameOf(id) : null;
+    }
+}
@@ -0,0 +1,183 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.CategoryRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+// Category id <-> name dictionary, loaded at startup. Transactions and rollups store the id (see CategoryConverter).
+// New names are registered in the transaction of the write that uses them, once its checks have passed, so a
+// rejected write leaves no category behind. Until that transaction commits its new ids are visible to it alone.
+@Slf4j
+@Component
+public class CategoryDictionary {
+    
+    // Stored for names that are not in the dictionary: matches no row, and violates the foreign key if ever written
+    public static final long UNKNOWN_ID = -1L;
+    
+    private final CategoryRepository categoryRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final Map<String, Long> idsByName = new ConcurrentHashMap<>();
+    private final Map<Long, String> namesById = new ConcurrentHashMap<>();
+    // The (type, name) pairs already in category_types, so repeat registrations skip the database
+    private final Map<Transaction.TransactionType, Set<String>> namesByType = new EnumMap<>(Transaction.TransactionType.class);
+    
+    public CategoryDictionary(CategoryRepository categoryRepository, JdbcTemplate jdbcTemplate) {
+        this.categoryRepository = categoryRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        for (Transaction.TransactionType type : Transaction.TransactionType.values()) {
+            namesByType.put(type, new ConcurrentSkipListSet<>());
+        }
+    }
+    
+    @PostConstruct
+    public void load() {
+        categoryRepository.findAll().forEach(category -> put(category.getId(), category.getName()));
+        for (CategoryRepository.CategoryType categoryType : categoryRepository.findAllCategoryTypes()) {
+            String name = namesById.get(categoryType.getCategoryId());
+            if (name != null) {
+                namesByType.get(Transaction.TransactionType.valueOf(categoryType.getType())).add(name);
+            }
+        }
+        log.info("Loaded {} categories", idsByName.size());
+    }
+    
+    public long idOf(String name) {
+        Long id = idsByName.get(name);
+        if (id == null) {
+            id = pendingIds().get(name);
+        }
+        return id != null ? id : UNKNOWN_ID;
+    }
+    
+    // A miss is a category another instance registered after this one loaded; it is read once and kept
+    public String nameOf(long id) {
+        String name = namesById.get(id);
+        if (name != null) {
+            return name;
+        }
+        for (Map.Entry<String, Long> pending : pendingIds().entrySet()) {
+            if (pending.getValue() == id) {
+                return pending.getKey();
+            }
+        }
+        return categoryRepository.findById(id)
+            .map(category -> {
+                put(category.getId(), category.getName());
+                return category.getName();
+            })
+            .orElse(null);
+    }
+    
+    // Read from the database rather than the dictionary, so a name no longer used with the type is left out
+    public List<String> namesFor(Transaction.TransactionType type) {
+        return categoryRepository.findNamesInUse(type.name());
+    }
+    
+    // Joins the caller's transaction; call it once the write has passed its checks, just before the rows are saved.
+    // The dictionary itself only learns the name after the commit.
+    public void register(Transaction.TransactionType type, String name) {
+        if (idsByName.containsKey(name) && namesByType.get(type).contains(name)) {
+            return;
+        }
+        Long id = idsByName.get(name);
+        if (id == null) {
+            id = bindPendingIds().computeIfAbsent(name, this::insert);
+        }
+        long categoryId = id;
+        try {
+            // The casts type the bind parameters, which H2 cannot otherwise infer in a USING subquery
+            jdbcTemplate.update("MERGE INTO category_types ct " +
+                    "USING (SELECT CAST(? AS NUMBER(19)) AS category_id, CAST(? AS VARCHAR2(50)) AS type FROM dual) s " +
+                    "ON (ct.category_id = s.category_id AND ct.type = s.type) " +
+                    "WHEN NOT MATCHED THEN INSERT (category_id, type) VALUES (s.category_id, s.type)",
+                categoryId, type.name());
+        } catch (DuplicateKeyException ex) {
+            // Added by another transaction at the same time
+        }
+        AfterCommit.run(() -> {
+            put(categoryId, name);
+            namesByType.get(type).add(name);
+        });
+    }
+    
+    // Plain JDBC rather than the entity, so a duplicate is caught without marking the caller's transaction
+    // rollback-only. The insert waits while another transaction holds the same name uncommitted.
+    private long insert(String name) {
+        Long existing = findId(name);
+        if (existing != null) {
+            return existing;
+        }
+        long id = jdbcTemplate.queryForObject("SELECT CATEGORY_SEQ.NEXTVAL FROM dual", Long.class);
+        try {
+            jdbcTemplate.update("INSERT INTO categories (id, name) VALUES (?, ?)", id, name);
+            return id;
+        } catch (DuplicateKeyException ex) {
+            // Registered by another transaction, which has committed since
+            Long registered = findId(name);
+            if (registered == null) {
+                throw ex;
+            }
+            return registered;
+        }
+    }
+    
+    private Long findId(String name) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM categories WHERE name = ?", Long.class, name);
+        return ids.isEmpty() ? null : ids.get(0);
+    }
+    
+    // Names inserted by this thread's transaction and not yet committed
+    private Map<String, Long> pendingIds() {
+        Map<String, Long> pending = boundPendingIds(new PendingNames(this));
+        return pending != null ? pending : Map.of();
+    }
+    
+    // Without a transaction each insert commits at once, and nothing needs to be held
+    private Map<String, Long> bindPendingIds() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return new HashMap<>();
+        }
+        PendingNames key = new PendingNames(this);
+        Map<String, Long> pending = boundPendingIds(key);
+        if (pending != null) {
+            return pending;
+        }
+        Map<String, Long> created = new HashMap<>();
+        TransactionSynchronizationManager.bindResource(key, created);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(key);
+            }
+        });
+        return created;
+    }
+    
+    @SuppressWarnings("unchecked")
+    private static Map<String, Long> boundPendingIds(PendingNames key) {
+        return (Map<String, Long>) TransactionSynchronizationManager.getResource(key);
+    }
+    
+    private void put(long id, String name) {
+        idsByName.put(name, id);
+        namesById.put(id, name);
+    }
+    
+    private record PendingNames(CategoryDictionary dictionary) {
+    }
+}
@@ -0,0 +1,130 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.DailyRollupId;
+import com.moneymanager.repository.DailyRollupRepository;
+import com.moneymanager.repository.TransactionReads;
+import com.moneymanager.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DailyRollupService {
+    
+    // Run through JDBC rather than the repository: Hibernate marks the whole transaction rollback-only when a
+    // statement fails, while a failed JDBC statement is rolled back on its own and can simply be retried.
+    // The casts type the bind parameters, which H2 cannot otherwise infer in the USING subquery.
+    private static final String MERGE_DELTA = "MERGE INTO daily_rollups r " +
+        "USING (SELECT CAST(? AS DATE) AS rollup_day, CAST(? AS VARCHAR2(50)) AS type, " +
+        "CAST(? AS VARCHAR2(50)) AS division, CAST(? AS NUMBER(19)) AS category_id FROM dual) s " +
+        "ON (r.rollup_day = s.rollup_day AND r.type = s.type AND r.division = s.division AND r.category_id = s.category_id) " +
+        "WHEN MATCHED THEN UPDATE SET r.total_amount = r.total_amount + ?, r.transaction_count = r.transaction_count + ? " +
+        "WHEN NOT MATCHED THEN INSERT (rollup_day, type, division, category_id, total_amount, transaction_count) " +
+        "VALUES (s.rollup_day, s.type, s.division, s.category_id, ?, ?)";
+    
+    private final DailyRollupRepository dailyRollupRepository;
+    private final TransactionArchiver transactionArchiver;
+    private final CategoryDictionary categoryDictionary;
+    private final JdbcTemplate jdbcTemplate;
+    
+    @Transactional
+    public void applyAll(Collection<TransactionChange> changes) {
+        // Net the changes per rollup key so each (day, type, division, category) is merged once
+        Map<DailyRollupId, BigDecimal> amounts = new HashMap<>();
+        Map<DailyRollupId, Long> counts = new HashMap<>();
+        for (TransactionChange change : changes) {
+            DailyRollupId key = keyOf(change);
+            amounts.merge(key, change.signedAmount(), BigDecimal::add);
+            counts.merge(key, (long) change.sign(), Long::sum);
+        }
+        amounts.forEach((key, amount) -> {
+            // An update that leaves the key unchanged nets out to nothing
+            if (amount.signum() != 0 || counts.get(key) != 0) {
+                applyDelta(key, amount, counts.get(key));
+            }
+        });
+    }
+    
+    @Transactional
+    public int rebuild() {
+        dailyRollupRepository.deleteAllRollups();
+        int rows = dailyRollupRepository.insertFromTransactions();
+        log.info("Rebuilt daily rollups: {} rows", rows);
+        return rows;
+    }
+    
+    // Whole days inside the range are read from the rollups; the partial days at either end are summed from transactions
+    @Transactional(readOnly = true)
+    public List<TransactionRepository.CategoryTotal> sumByTypeAndCategory(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDate firstFullDay = startDate.toLocalTime().equals(LocalTime.MIDNIGHT)
+            ? startDate.toLocalDate()
+            : startDate.toLocalDate().plusDays(1);
+        LocalDate lastFullDay = endDate.toLocalTime().equals(LocalTime.MAX)
+            ? endDate.toLocalDate()
+            : endDate.toLocalDate().minusDays(1);
+        
+        if (firstFullDay.isAfter(lastFullDay)) {
+            return transactionArchiver.read(startDate, reads -> reads.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                startDate, endDate));
+        }
+        
+        List<TransactionRepository.CategoryTotal> totals =
+            new ArrayList<>(dailyRollupRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                firstFullDay, lastFullDay));
+        
+        LocalDateTime headEnd = firstFullDay.atStartOfDay();
+        if (startDate.isBefore(headEnd)) {
+            totals.addAll(transactionArchiver.read(startDate, reads -> reads.sumByTypeAndCategoryUntil(TransactionReads.INCOME_AND_EXPENSE,
+                startDate, headEnd)));
+        }
+        
+        LocalDateTime tailStart = lastFullDay.plusDays(1).atStartOfDay();
+        if (!endDate.isBefore(tailStart)) {
+            totals.addAll(transactionArchiver.read(tailStart, reads -> reads.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                tailStart, endDate)));
+        }
+        return totals;
+    }
+    
+    private void applyDelta(DailyRollupId key, BigDecimal amount, long count) {
+        Object[] args = {
+            Date.valueOf(key.getDay()),
+            key.getType().name(),
+            key.getDivision().name(),
+            categoryDictionary.idOf(key.getCategory()),
+            amount, count,
+            amount, count
+        };
+        try {
+            jdbcTemplate.update(MERGE_DELTA, args);
+        } catch (DuplicateKeyException ex) {
+            // Two first writes to the same key both took the NOT MATCHED branch; the row exists now, so this one updates it
+            jdbcTemplate.update(MERGE_DELTA, args);
+        }
+    }
+    
+    private static DailyRollupId keyOf(TransactionChange change) {
+        return new DailyRollupId(
+            change.transactionDate().toLocalDate(),
+            change.type(),
+            change.division(),
+            change.category()
+        );
+    }
+}
@@ -0,0 +1,98 @@
+package com.moneymanager.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.moneymanager.dto.CacheStatsDTO;
+import com.moneymanager.dto.DashboardSummaryDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// Per instance: writes evict only this instance's entries, so with several instances a dashboard cached by another one
+// can be up to expire-after-write old
+@Component
+public class DashboardCache {
+    
+    private final Cache<DashboardKey, DashboardSummaryDTO> dashboards;
+    
+    // Bumped on every committed write; a load that overlaps a write is not left in the cache
+    private final AtomicLong writeGeneration = new AtomicLong();
+    
+    public DashboardCache(
+            @Value("${moneymanager.cache.dashboard.maximum-size:1000}") long maximumSize,
+            @Value("${moneymanager.cache.dashboard.expire-after-write:PT5M}") Duration expireAfterWrite,
+            MeterRegistry meterRegistry) {
+        this.dashboards = Caffeine.newBuilder()
+            .maximumSize(maximumSize)
+            .expireAfterWrite(expireAfterWrite)
+            .recordStats()
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, dashboards, "dashboard");
+    }
+    
+    public DashboardSummaryDTO getDashboardSummary(LocalDateTime startDate, LocalDateTime endDate,
+                                                   Supplier<DashboardSummaryDTO> loader) {
+        return getOrLoad(dashboards, new DashboardKey(startDate, endDate), loader);
+    }
+    
+    // Captures the affected dates now, so the eviction does not depend on the caller's collection
+    public void evictAfterCommit(Collection<TransactionChange> changes) {
+        List<LocalDateTime> transactionDates = changes.stream()
+            .map(TransactionChange::transactionDate)
+            .toList();
+        
+        AfterCommit.run(() -> evict(transactionDates));
+    }
+    
+    public List<CacheStatsDTO> getStats() {
+        return List.of(toStatsDTO("dashboard", dashboards));
+    }
+    
+    private void evict(List<LocalDateTime> transactionDates) {
+        writeGeneration.incrementAndGet();
+        dashboards.asMap().keySet().removeIf(key -> transactionDates.stream().anyMatch(key::covers));
+    }
+    
+    private <K, V> V getOrLoad(Cache<K, V> cache, K key, Supplier<V> loader) {
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        long generation = writeGeneration.get();
+        V loaded = loader.get();
+        cache.put(key, loaded);
+        if (writeGeneration.get() != generation) {
+            // A write committed while loading; the value may predate it
+            cache.invalidate(key);
+        }
+        return loaded;
+    }
+    
+    private static CacheStatsDTO toStatsDTO(String name, Cache<?, ?> cache) {
+        CacheStats stats = cache.stats();
+        return new CacheStatsDTO(
+            name,
+            cache.estimatedSize(),
+            stats.hitCount(),
+            stats.missCount(),
+            stats.hitRate(),
+            stats.evictionCount()
+        );
+    }
+    
+    private record DashboardKey(LocalDateTime startDate, LocalDateTime endDate) {
+        
+        boolean covers(LocalDateTime transactionDate) {
+            return !transactionDate.isBefore(startDate) && !transactionDate.isAfter(endDate);
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Transaction;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+// Sums income and expense per category as long cents in primitive arrays, indexed by category ids interned on first
+// sight, so the per-row work allocates nothing. A slot that would overflow a long spills into an exact BigDecimal.
+// Not thread-safe; use one per aggregation.
+public final class MoneyAccumulator {
+    
+    private static final int SCALE = 2;
+    
+    private final Slots income = new Slots();
+    private final Slots expense = new Slots();
+    
+    void add(Transaction.TransactionType type, String category, BigDecimal amount) {
+        Slots slots = slotsFor(type);
+        if (slots == null) {
+            return;
+        }
+        long cents;
+        try {
+            cents = toCents(amount);
+        } catch (ArithmeticException ex) {
+            // Too large for a long, or finer than a cent: carried exactly on the BigDecimal side
+            slots.spill(slots.idOf(category), amount.movePointRight(SCALE));
+            return;
+        }
+        slots.add(category, cents);
+    }
+    
+    BigDecimal totalIncome() {
+        return income.total();
+    }
+    
+    BigDecimal totalExpense() {
+        return expense.total();
+    }
+    
+    Map<String, BigDecimal> categoryWiseIncome() {
+        return income.toMap();
+    }
+    
+    Map<String, BigDecimal> categoryWiseExpense() {
+        return expense.toMap();
+    }
+    
+    // Exact: amounts with a fraction of a cent, or beyond the range of a long, throw rather than round
+    static long toCents(BigDecimal amount) {
+        return amount.movePointRight(SCALE).longValueExact();
+    }
+    
+    // For amounts not read back from the database: rounded to the cent the way a NUMBER(15,2) column rounds on insert
+    public static long roundToCents(BigDecimal amount) {
+        return toCents(amount.setScale(SCALE, RoundingMode.HALF_UP));
+    }
+    
+    private Slots slotsFor(Transaction.TransactionType type) {
+        if (type == Transaction.TransactionType.INCOME) {
+            return income;
+        }
+        if (type == Transaction.TransactionType.EXPENSE) {
+            return expense;
+        }
+        return null;
+    }
+    
+    private static final class Slots {
+        
+        private final Map<String, Integer> ids = new HashMap<>();
+        private String[] categories = new String[16];
+        private long[] cents = new long[16];
+        private BigDecimal[] spilled = new BigDecimal[16];
+        private int size;
+        
+        void add(String category, long value) {
+            int id = idOf(category);
+            try {
+                cents[id] = Math.addExact(cents[id], value);
+            } catch (ArithmeticException ex) {
+                spill(id, BigDecimal.valueOf(cents[id]).add(BigDecimal.valueOf(value)));
+                cents[id] = 0;
+            }
+        }
+        
+        // Amount in cents, added to the slot's BigDecimal overflow
+        void spill(int id, BigDecimal centsValue) {
+            spilled[id] = spilled[id] != null ? spilled[id].add(centsValue) : centsValue;
+        }
+        
+        BigDecimal total() {
+            BigDecimal total = BigDecimal.ZERO;
+            for (int id = 0; id < size; id++) {
+                total = total.add(valueOf(id));
+            }
+            return total;
+        }
+        
+        Map<String, BigDecimal> toMap() {
+            Map<String, BigDecimal> totals = new HashMap<>();
+            for (int id = 0; id < size; id++) {
+                totals.put(categories[id], valueOf(id));
+            }
+            return totals;
+        }
+        
+        private BigDecimal valueOf(int id) {
+            BigDecimal value = BigDecimal.valueOf(cents[id], SCALE);
+            return spilled[id] != null ? value.add(spilled[id].movePointLeft(SCALE)) : value;
+        }
+        
+        int idOf(String category) {
+            Integer id = ids.get(category);
+            if (id != null) {
+                return id;
+            }
+            if (size == categories.length) {
+                categories = Arrays.copyOf(categories, size * 2);
+                cents = Arrays.copyOf(cents, size * 2);
+                spilled = Arrays.copyOf(spilled, size * 2);
+            }
+            categories[size] = category;
+            ids.put(category, size);
+            return size++;
+        }
+    }
+}
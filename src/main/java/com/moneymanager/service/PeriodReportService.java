@@ -0,0 +1,171 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.PeriodReportDTO;
+import com.moneymanager.dto.PeriodSummaryDTO;
+import com.moneymanager.repository.DailyRollupRepository;
+import com.moneymanager.repository.TransactionReads;
+import com.moneymanager.repository.TransactionRepository;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class PeriodReportService {
+    
+    public static final int MAX_PERIODS = 60;
+    
+    private final TransactionArchiver transactionArchiver;
+    private final DailyRollupRepository dailyRollupRepository;
+    private final boolean readDailyRollups;
+    private final int parallelism;
+    private final ExecutorService executor;
+    
+    public PeriodReportService(
+            TransactionArchiver transactionArchiver,
+            DailyRollupRepository dailyRollupRepository,
+            @Value("${moneymanager.dashboard.read-rollups:false}") boolean readDailyRollups,
+            @Value("${moneymanager.reports.parallelism:4}") int parallelism) {
+        this.transactionArchiver = transactionArchiver;
+        this.dailyRollupRepository = dailyRollupRepository;
+        this.readDailyRollups = readDailyRollups;
+        this.parallelism = parallelism;
+        // Bounded so a burst of reports never takes more than this many pooled connections
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(parallelism,
+            runnable -> new Thread(runnable, "period-report-" + threadNumber.incrementAndGet()));
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+    
+    // The last period is the one containing endDate; the range is split into contiguous slices queried in parallel,
+    // each slice one grouped query returning per-day totals that are folded into the periods here
+    public PeriodReportDTO getPeriodReport(Granularity granularity, int count, LocalDate endDate) {
+        int periods = Math.max(1, Math.min(count, MAX_PERIODS));
+        List<LocalDate> boundaries = new ArrayList<>(periods + 1);
+        LocalDate start = granularity.startOf(endDate);
+        for (int i = 1; i < periods; i++) {
+            start = granularity.previous(start);
+        }
+        boundaries.add(start);
+        for (int i = 0; i < periods; i++) {
+            boundaries.add(granularity.next(boundaries.get(i)));
+        }
+        
+        int slices = Math.min(parallelism, periods);
+        List<CompletableFuture<List<TransactionRepository.DailyCategoryTotal>>> futures = new ArrayList<>(slices);
+        for (int slice = 0; slice < slices; slice++) {
+            LocalDate sliceStart = boundaries.get(slice * periods / slices);
+            LocalDate sliceEnd = boundaries.get((slice + 1) * periods / slices);
+            futures.add(CompletableFuture.supplyAsync(() -> sumByDay(sliceStart, sliceEnd), executor));
+        }
+        
+        List<MoneyAccumulator> totals = new ArrayList<>(periods);
+        for (int i = 0; i < periods; i++) {
+            totals.add(new MoneyAccumulator());
+        }
+        for (CompletableFuture<List<TransactionRepository.DailyCategoryTotal>> future : futures) {
+            for (TransactionRepository.DailyCategoryTotal dayTotal : join(future)) {
+                totals.get(periodIndex(boundaries, dayTotal.getDate()))
+                    .add(dayTotal.getType(), dayTotal.getCategory(), dayTotal.getTotal());
+            }
+        }
+        
+        List<PeriodSummaryDTO> summaries = new ArrayList<>(periods);
+        for (int i = 0; i < periods; i++) {
+            MoneyAccumulator period = totals.get(i);
+            BigDecimal totalIncome = period.totalIncome();
+            BigDecimal totalExpense = period.totalExpense();
+            summaries.add(new PeriodSummaryDTO(
+                boundaries.get(i),
+                boundaries.get(i + 1),
+                totalIncome,
+                totalExpense,
+                totalIncome.subtract(totalExpense),
+                period.categoryWiseExpense(),
+                period.categoryWiseIncome()
+            ));
+        }
+        return new PeriodReportDTO(granularity, summaries);
+    }
+    
+    private List<TransactionRepository.DailyCategoryTotal> sumByDay(LocalDate startDay, LocalDate endDayExclusive) {
+        // Periods are whole days, so with rollups enabled no raw transaction is read
+        if (readDailyRollups) {
+            return dailyRollupRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                startDay, endDayExclusive);
+        }
+        LocalDateTime start = startDay.atStartOfDay();
+        return transactionArchiver.read(start, reads -> reads.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+            start, endDayExclusive.atStartOfDay()));
+    }
+    
+    // Index of the period [boundaries[i], boundaries[i + 1]) containing the day
+    private static int periodIndex(List<LocalDate> boundaries, LocalDate day) {
+        int low = 0;
+        int high = boundaries.size() - 2;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (boundaries.get(mid).isAfter(day)) {
+                high = mid - 1;
+            } else {
+                low = mid;
+            }
+        }
+        return low;
+    }
+    
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+    
+    public enum Granularity {
+        WEEK, MONTH, YEAR;
+        
+        LocalDate startOf(LocalDate date) {
+            return switch (this) {
+                case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+                case MONTH -> date.withDayOfMonth(1);
+                case YEAR -> date.withDayOfYear(1);
+            };
+        }
+        
+        LocalDate next(LocalDate periodStart) {
+            return switch (this) {
+                case WEEK -> periodStart.plusWeeks(1);
+                case MONTH -> periodStart.plusMonths(1);
+                case YEAR -> periodStart.plusYears(1);
+            };
+        }
+        
+        LocalDate previous(LocalDate periodStart) {
+            return switch (this) {
+                case WEEK -> periodStart.minusWeeks(1);
+                case MONTH -> periodStart.minusMonths(1);
+                case YEAR -> periodStart.minusYears(1);
+            };
+        }
+    }
+}
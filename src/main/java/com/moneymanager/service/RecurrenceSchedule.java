@@ -0,0 +1,58 @@
+package com.moneymanager.service;
+
+import com.moneymanager.exception.InvalidScheduleException;
+import org.springframework.scheduling.support.CronExpression;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// When a recurring template fires: a cron expression, or a fixed interval counted from the template's start
+interface RecurrenceSchedule {
+    
+    // First occurrence at or after the given time
+    LocalDateTime first(LocalDateTime from);
+    
+    // Occurrence following the given one
+    LocalDateTime next(LocalDateTime occurrence);
+    
+    static RecurrenceSchedule of(String cronExpression, Duration interval) {
+        if ((cronExpression == null) == (interval == null)) {
+            throw new InvalidScheduleException("Exactly one of cronExpression and interval is required");
+        }
+        if (interval != null) {
+            if (interval.isNegative() || interval.getSeconds() < 1 || interval.getNano() != 0) {
+                throw new InvalidScheduleException("Interval must be a positive whole number of seconds: " + interval);
+            }
+            return new RecurrenceSchedule() {
+                @Override
+                public LocalDateTime first(LocalDateTime from) {
+                    return from;
+                }
+                
+                @Override
+                public LocalDateTime next(LocalDateTime occurrence) {
+                    return occurrence.plus(interval);
+                }
+            };
+        }
+        
+        CronExpression cron;
+        try {
+            cron = CronExpression.parse(cronExpression);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidScheduleException("Invalid cron expression '" + cronExpression + "': " + ex.getMessage());
+        }
+        return new RecurrenceSchedule() {
+            @Override
+            public LocalDateTime first(LocalDateTime from) {
+                // Cron fields resolve to whole seconds, so stepping back one second makes the start itself eligible
+                return cron.next(from.withNano(0).minusSeconds(1));
+            }
+            
+            @Override
+            public LocalDateTime next(LocalDateTime occurrence) {
+                return cron.next(occurrence);
+            }
+        };
+    }
+}
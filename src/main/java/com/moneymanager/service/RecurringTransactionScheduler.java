@@ -0,0 +1,47 @@
+package com.moneymanager.service;
+
+import com.moneymanager.exception.ResourceNotFoundException;
+import com.moneymanager.repository.RecurringTemplateRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+// Posts the due occurrences of recurring templates. After downtime a template catches up in batches of
+// moneymanager.recurring.batch-size, each one multi-row insert and one netted balance update per account.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class RecurringTransactionScheduler {
+    
+    private final RecurringTemplateRepository templateRepository;
+    private final RecurringTransactionService recurringTransactionService;
+    
+    @Scheduled(fixedDelayString = "${moneymanager.recurring.poll-interval:PT1M}")
+    public void generate() {
+        LocalDateTime now = LocalDateTime.now();
+        int batchSize = recurringTransactionService.getBatchSize();
+        for (Long templateId : templateRepository.findDueIds(now)) {
+            int generated = 0;
+            int batch;
+            try {
+                do {
+                    batch = recurringTransactionService.generateDue(templateId, now);
+                    generated += batch;
+                } while (batch == batchSize);
+            } catch (OptimisticLockingFailureException | DataIntegrityViolationException ex) {
+                // Another instance generated the same occurrences; its batch committed and this one rolled back
+                log.info("Recurring template {} was generated concurrently, skipping", templateId);
+            } catch (ResourceNotFoundException ex) {
+                log.warn("Recurring template {} not generated: {}", templateId, ex.getMessage());
+            }
+            if (generated > 0) {
+                log.info("Generated {} occurrences of recurring template {}", generated, templateId);
+            }
+        }
+    }
+}
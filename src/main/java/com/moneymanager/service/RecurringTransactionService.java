@@ -0,0 +1,191 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.RecurringTemplateDTO;
+import com.moneymanager.dto.RecurringTemplateRequestDTO;
+import com.moneymanager.exception.InvalidScheduleException;
+import com.moneymanager.exception.ResourceNotFoundException;
+import com.moneymanager.model.RecurringTemplate;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.RecurringTemplateRepository;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+@Timed(value = "moneymanager.service", histogram = true)
+public class RecurringTransactionService {
+    
+    private final RecurringTemplateRepository templateRepository;
+    private final TransactionService transactionService;
+    private final AccountService accountService;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${moneymanager.recurring.batch-size:500}")
+    private int batchSize;
+    
+    // A start in the past is backfilled: the scheduler generates every occurrence since then on its next run
+    public RecurringTemplateDTO createTemplate(RecurringTemplateRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> create(requestDTO));
+    }
+    
+    private RecurringTemplateDTO create(RecurringTemplateRequestDTO requestDTO) {
+        RecurringTemplate template = new RecurringTemplate();
+        apply(template, requestDTO, requestDTO.getStartsAt());
+        
+        RecurringTemplate savedTemplate = templateRepository.save(template);
+        return convertToDTO(savedTemplate);
+    }
+    
+    // A changed schedule applies from now on; occurrences already generated are left as they are
+    public RecurringTemplateDTO updateTemplate(Long id, RecurringTemplateRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> update(id, requestDTO));
+    }
+    
+    private RecurringTemplateDTO update(Long id, RecurringTemplateRequestDTO requestDTO) {
+        RecurringTemplate template = templateRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Recurring template not found with id: " + id));
+        LocalDateTime now = LocalDateTime.now();
+        apply(template, requestDTO, requestDTO.getStartsAt().isAfter(now) ? requestDTO.getStartsAt() : now);
+        
+        RecurringTemplate updatedTemplate = templateRepository.save(template);
+        return convertToDTO(updatedTemplate);
+    }
+    
+    @Transactional
+    public void deleteTemplate(Long id) {
+        RecurringTemplate template = templateRepository.findById(id)
+            .orElseThrow(() -> new ResourceNotFoundException("Recurring template not found with id: " + id));
+        templateRepository.delete(template);
+    }
+    
+    @Transactional(readOnly = true)
+    public RecurringTemplateDTO getTemplateById(Long id) {
+        return templateRepository.findById(id)
+            .map(this::convertToDTO)
+            .orElseThrow(() -> new ResourceNotFoundException("Recurring template not found with id: " + id));
+    }
+    
+    @Transactional(readOnly = true)
+    public List<RecurringTemplateDTO> getAllTemplates() {
+        return templateRepository.findAll().stream()
+            .map(this::convertToDTO)
+            .collect(Collectors.toList());
+    }
+    
+    // Generates up to one batch of the template's due occurrences and advances it past them, in one transaction:
+    // the inserts, the netted balance updates and the new nextOccurrenceAt commit together or not at all.
+    // The version check and the unique (recurring_template_id, occurrence_at) key reject a concurrent run.
+    @Transactional
+    public int generateDue(Long templateId, LocalDateTime now) {
+        RecurringTemplate template = templateRepository.findById(templateId).orElse(null);
+        if (template == null || !template.getActive() || template.getNextOccurrenceAt() == null
+                || template.getNextOccurrenceAt().isAfter(now)) {
+            return 0;
+        }
+        
+        RecurrenceSchedule schedule = scheduleOf(template);
+        List<Transaction> batch = new ArrayList<>();
+        LocalDateTime occurrence = template.getNextOccurrenceAt();
+        while (occurrence != null && !occurrence.isAfter(now) && batch.size() < batchSize) {
+            batch.add(toTransaction(template, occurrence));
+            occurrence = schedule.next(occurrence);
+            if (occurrence != null && template.getEndsAt() != null && occurrence.isAfter(template.getEndsAt())) {
+                occurrence = null;
+            }
+        }
+        
+        transactionService.persistBatch(batch);
+        template.setNextOccurrenceAt(occurrence);
+        template.setActive(occurrence != null);
+        return batch.size();
+    }
+    
+    int getBatchSize() {
+        return batchSize;
+    }
+    
+    private void apply(RecurringTemplate template, RecurringTemplateRequestDTO requestDTO, LocalDateTime firstFrom) {
+        RecurrenceSchedule schedule = RecurrenceSchedule.of(requestDTO.getCronExpression(), requestDTO.getInterval());
+        if (requestDTO.getEndsAt() != null && requestDTO.getEndsAt().isBefore(requestDTO.getStartsAt())) {
+            throw new InvalidScheduleException("endsAt must not be before startsAt");
+        }
+        LocalDateTime first = schedule.first(firstFrom);
+        if (first == null) {
+            throw new InvalidScheduleException("The schedule never fires: " + requestDTO.getCronExpression());
+        }
+        boolean finished = requestDTO.getEndsAt() != null && first.isAfter(requestDTO.getEndsAt());
+        
+        template.setType(requestDTO.getType());
+        template.setAmount(requestDTO.getAmount());
+        template.setCategory(requestDTO.getCategory());
+        template.setDivision(requestDTO.getDivision());
+        template.setDescription(requestDTO.getDescription());
+        template.setFromAccount(requestDTO.getFromAccount());
+        template.setToAccount(requestDTO.getToAccount());
+        template.setCronExpression(requestDTO.getCronExpression());
+        template.setIntervalSeconds(requestDTO.getInterval() != null ? requestDTO.getInterval().getSeconds() : null);
+        template.setStartsAt(requestDTO.getStartsAt());
+        template.setEndsAt(requestDTO.getEndsAt());
+        template.setNextOccurrenceAt(finished ? null : first);
+        template.setActive(!finished);
+        
+        // Checked up front so a template cannot fail every scheduled run on a missing account
+        TransactionChange sample = TransactionChange.applied(toTransaction(template, first));
+        accountService.requireAccounts(TransactionProjections.balanceDeltas(List.of(sample)).keySet());
+        // Registered in the template's transaction once it is known to be valid
+        categoryDictionary.register(template.getType(), template.getCategory());
+    }
+    
+    private static RecurrenceSchedule scheduleOf(RecurringTemplate template) {
+        return RecurrenceSchedule.of(template.getCronExpression(),
+            template.getIntervalSeconds() != null ? Duration.ofSeconds(template.getIntervalSeconds()) : null);
+    }
+    
+    private static Transaction toTransaction(RecurringTemplate template, LocalDateTime occurrence) {
+        Transaction transaction = new Transaction();
+        transaction.setType(template.getType());
+        transaction.setAmount(template.getAmount());
+        transaction.setCategory(template.getCategory());
+        transaction.setDivision(template.getDivision());
+        transaction.setDescription(template.getDescription());
+        transaction.setTransactionDate(occurrence);
+        transaction.setFromAccount(template.getFromAccount());
+        transaction.setToAccount(template.getToAccount());
+        transaction.setIsEditable(true);
+        transaction.setRecurringTemplateId(template.getId());
+        transaction.setOccurrenceAt(occurrence);
+        return transaction;
+    }
+    
+    private RecurringTemplateDTO convertToDTO(RecurringTemplate template) {
+        RecurringTemplateDTO dto = new RecurringTemplateDTO();
+        dto.setId(template.getId());
+        dto.setType(template.getType());
+        dto.setAmount(template.getAmount());
+        dto.setCategory(template.getCategory());
+        dto.setDivision(template.getDivision());
+        dto.setDescription(template.getDescription());
+        dto.setFromAccount(template.getFromAccount());
+        dto.setToAccount(template.getToAccount());
+        dto.setCronExpression(template.getCronExpression());
+        dto.setInterval(template.getIntervalSeconds() != null ? Duration.ofSeconds(template.getIntervalSeconds()) : null);
+        dto.setStartsAt(template.getStartsAt());
+        dto.setEndsAt(template.getEndsAt());
+        dto.setNextOccurrenceAt(template.getNextOccurrenceAt());
+        dto.setActive(template.getActive());
+        dto.setCreatedAt(template.getCreatedAt());
+        dto.setUpdatedAt(template.getUpdatedAt());
+        return dto;
+    }
+}
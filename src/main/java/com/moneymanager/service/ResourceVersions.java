@@ -0,0 +1,99 @@
+package com.moneymanager.service;
+
+import com.moneymanager.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// Version stamps behind the ETag and Last-Modified headers of the transaction and account GETs, kept in the
+// resource_versions table so every instance, and every restart, answers from the same counter. A write bumps its
+// resource's row once per transaction, just before the commit, so the row lock is held only while committing.
+// Transactions also change without a write when a row leaves the 12 hour edit window and its isEditable turns false:
+// their ETag carries the number of rows still inside the window, and Last-Modified covers the newest one to leave it.
+@Component
+@RequiredArgsConstructor
+public class ResourceVersions {
+    
+    public enum Resource {
+        TRANSACTIONS, ACCOUNTS
+    }
+    
+    public record Stamp(String etag, long lastModified) {
+    }
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionRepository transactionRepository;
+    
+    // The version row is read before anything else, so a write committing in between can only make the stamp look
+    // older than the body served with it, which costs the client one more full response and never a stale 304
+    public Stamp current(Resource resource) {
+        Stamp stored = jdbcTemplate.queryForObject(
+            "SELECT version, last_modified FROM resource_versions WHERE resource_name = ?",
+            (rs, rowNum) -> new Stamp(Long.toString(rs.getLong(1), Character.MAX_RADIX),
+                toEpochMilli(rs.getTimestamp(2).toLocalDateTime())),
+            resource.name());
+        if (resource != Resource.TRANSACTIONS) {
+            return stored;
+        }
+        LocalDateTime cutoff = TransactionService.editCutoff();
+        long editable = transactionRepository.countEditableCreatedAfter(cutoff);
+        LocalDateTime lastLeft = transactionRepository.findLatestEditableCreatedAtOrBefore(cutoff);
+        long lastModified = lastLeft != null
+            ? Math.max(stored.lastModified(), toEpochMilli(lastLeft.plus(TransactionService.EDIT_WINDOW)))
+            : stored.lastModified();
+        return new Stamp(stored.etag() + "-" + Long.toString(editable, Character.MAX_RADIX), lastModified);
+    }
+    
+    // Joins the caller's transaction; without one the row is bumped straight away
+    public void changed(Resource resource) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            bump(resource);
+            return;
+        }
+        PendingBump pending = new PendingBump(resource);
+        if (TransactionSynchronizationManager.hasResource(pending)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(pending, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                bump(resource);
+            }
+            
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(pending);
+            }
+        });
+    }
+    
+    // Called by the editability sweep in the transaction that clears is_editable: the swept rows left the window by
+    // the time given, and no longer count towards the newest one to leave it
+    void editWindowsClosedBy(LocalDateTime closedBy) {
+        jdbcTemplate.update("UPDATE resource_versions SET last_modified = GREATEST(last_modified, ?) WHERE resource_name = ?",
+            Timestamp.valueOf(closedBy), Resource.TRANSACTIONS.name());
+    }
+    
+    // GREATEST keeps Last-Modified from going back when instance clocks disagree
+    private void bump(Resource resource) {
+        jdbcTemplate.update("UPDATE resource_versions SET version = version + 1, " +
+                "last_modified = GREATEST(last_modified, ?) WHERE resource_name = ?",
+            Timestamp.valueOf(LocalDateTime.now()), resource.name());
+    }
+    
+    // Local date-times are stored in the server's zone
+    private static long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+    
+    private record PendingBump(Resource resource) {
+    }
+}
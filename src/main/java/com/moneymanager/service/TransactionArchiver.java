@@ -0,0 +1,156 @@
+package com.moneymanager.service;
+
+import com.moneymanager.repository.LedgerTransactionRepository;
+import com.moneymanager.repository.TransactionReads;
+import com.moneymanager.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.function.Function;
+
+// Moves transactions dated before the last moneymanager.archive.hot-months months from transactions to
+// transactions_archive, once they are past the edit window and so never change again. Rows still inside the window
+// stay hot until a later run. Routing is derived from the configuration and the database rather than per-instance
+// state, so every instance sees archived rows as soon as they leave the hot table.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionArchiver {
+    
+    private static final String ARCHIVE_COLUMNS = "id, type, amount, category_id, division, description, transaction_date, " +
+        "from_account, to_account, created_at, updated_at, recurring_template_id, occurrence_at";
+    private static final DateTimeFormatter PARTITION_KEY = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    // Archived rows must be past the edit window by more than the time an edit that passed its check can take to commit
+    private static final Duration EDIT_GRACE = Duration.ofHours(1);
+    
+    private final TransactionRepository transactionRepository;
+    private final LedgerTransactionRepository ledgerTransactionRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${moneymanager.archive.hot-months:12}")
+    private int hotMonths;
+    
+    // The archive only grows, so once seen non-empty it stays so
+    private volatile boolean anyArchived;
+    private boolean partitioned;
+    
+    @PostConstruct
+    void load() {
+        partitioned = Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection ->
+            connection.getMetaData().getDatabaseProductName().startsWith("Oracle")));
+        anyArchived = archiveNonEmpty();
+    }
+    
+    // Runs the read against the hot table when rows dated at or after 'from' cannot be archived (a null 'from' asks
+    // about any row), otherwise against the transaction_ledger view. Rows reach the archive before they leave the hot
+    // table, so while the archive is still empty after a hot read, that read saw every row.
+    public <T> T read(LocalDateTime from, Function<TransactionReads, T> query) {
+        if (from != null && !from.isBefore(hotStart())) {
+            return query.apply(transactionRepository);
+        }
+        if (anyArchived) {
+            return query.apply(ledgerTransactionRepository);
+        }
+        T result = query.apply(transactionRepository);
+        if (!archiveNonEmpty()) {
+            return result;
+        }
+        anyArchived = true;
+        return query.apply(ledgerTransactionRepository);
+    }
+    
+    @Scheduled(cron = "${moneymanager.archive.cron:0 30 2 * * *}")
+    public void archive() {
+        LocalDateTime hotStart = hotStart();
+        Timestamp oldest = jdbcTemplate.queryForObject(
+            "SELECT MIN(transaction_date) FROM transactions WHERE transaction_date < ?", Timestamp.class, Timestamp.valueOf(hotStart));
+        if (oldest == null) {
+            return;
+        }
+        Timestamp createdBefore = Timestamp.valueOf(TransactionService.editCutoff().minus(EDIT_GRACE));
+        for (YearMonth month = YearMonth.from(oldest.toLocalDateTime());
+             month.atDay(1).atStartOfDay().isBefore(hotStart);
+             month = month.plusMonths(1)) {
+            archiveMonth(month, createdBefore);
+        }
+    }
+    
+    void archiveMonth(YearMonth month, Timestamp createdBefore) {
+        Timestamp start = Timestamp.valueOf(month.atDay(1).atStartOfDay());
+        Timestamp end = Timestamp.valueOf(month.plusMonths(1).atDay(1).atStartOfDay());
+        Long eligible = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE transaction_date >= ? AND transaction_date < ? AND created_at < ?",
+            Long.class, start, end, createdBefore);
+        if (eligible == null || eligible == 0) {
+            return;
+        }
+        Long remaining = jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM transactions WHERE transaction_date >= ? AND transaction_date < ? AND created_at >= ?",
+            Long.class, start, end, createdBefore);
+        
+        if (partitioned && remaining != null && remaining == 0) {
+            archivePartition(start, end, createdBefore);
+        } else {
+            archiveRows(start, end, createdBefore);
+        }
+        log.info("Archived {} transactions from {}", eligible, month);
+    }
+    
+    // Locks the rows first, so an edit still in flight either commits before the copy or finds its row gone
+    private void archiveRows(Timestamp start, Timestamp end, Timestamp createdBefore) {
+        String eligible = "transaction_date >= ? AND transaction_date < ? AND created_at < ?";
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("UPDATE transactions SET is_editable = 0 WHERE " + eligible, start, end, createdBefore);
+            copyToArchive("transactions", eligible, start, end, createdBefore);
+            jdbcTemplate.update("DELETE FROM transactions WHERE " + eligible, start, end, createdBefore);
+        });
+    }
+    
+    // Every row of the month is past the edit window: swap the month's partition out for the empty staging table in
+    // one atomic DDL, which fails rather than waits while an edit on the partition is uncommitted. The ledger view
+    // reads staging too, so the rows stay visible while they move on to the archive. A row backdated into the month
+    // after the count above goes back to the hot table.
+    private void archivePartition(Timestamp start, Timestamp end, Timestamp createdBefore) {
+        String partition = "PARTITION FOR (TIMESTAMP '" + start.toLocalDateTime().format(PARTITION_KEY) + "')";
+        jdbcTemplate.execute("ALTER TABLE transactions EXCHANGE " + partition + " WITH TABLE transactions_archive_staging " +
+            "EXCLUDING INDEXES WITHOUT VALIDATION UPDATE GLOBAL INDEXES");
+        jdbcTemplate.execute("ALTER TABLE transactions MODIFY " + partition + " REBUILD UNUSABLE LOCAL INDEXES");
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("INSERT INTO transactions SELECT * FROM transactions_archive_staging WHERE created_at >= ?", createdBefore);
+            jdbcTemplate.update("DELETE FROM transactions_archive_staging WHERE created_at >= ?", createdBefore);
+            copyToArchive("transactions_archive_staging", "transaction_date >= ? AND transaction_date < ?", start, end);
+            jdbcTemplate.update("DELETE FROM transactions_archive_staging");
+        });
+    }
+    
+    // Skips rows already archived, so a run interrupted part way through can simply be repeated
+    private void copyToArchive(String source, String condition, Object... args) {
+        jdbcTemplate.update("INSERT " + (partitioned ? "/*+ APPEND */ " : "") + "INTO transactions_archive (" + ARCHIVE_COLUMNS + ", archived_at) " +
+            "SELECT " + ARCHIVE_COLUMNS + ", CURRENT_TIMESTAMP FROM " + source + " s " +
+            "WHERE " + condition + " AND NOT EXISTS (SELECT 1 FROM transactions_archive a WHERE a.id = s.id)", args);
+    }
+    
+    // Rows leave the hot table for the archive, or on Oracle for the staging table on their way there
+    private boolean archiveNonEmpty() {
+        return jdbcTemplate.queryForObject("SELECT MIN(id) FROM transactions_archive", Long.class) != null
+            || partitioned && jdbcTemplate.queryForObject("SELECT MIN(id) FROM transactions_archive_staging", Long.class) != null;
+    }
+    
+    // Months before this one are eligible for archiving; it only ever moves forward
+    private LocalDateTime hotStart() {
+        return YearMonth.now().minusMonths(Math.max(1, hotMonths) - 1L).atDay(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,64 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.Transaction;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// Snapshot of a transaction's effect on the derived views (balances, rollups, caches): sign 1 applies it, -1 takes it back
+public record TransactionChange(
+    Long transactionId,
+    int sign,
+    Transaction.TransactionType type,
+    BigDecimal amount,
+    String category,
+    Transaction.Division division,
+    LocalDateTime transactionDate,
+    String fromAccount,
+    String toAccount
+) {
+    
+    public static TransactionChange applied(Transaction transaction) {
+        return of(transaction, 1);
+    }
+    
+    public static TransactionChange reverted(Transaction transaction) {
+        return of(transaction, -1);
+    }
+    
+    public BigDecimal signedAmount() {
+        return sign < 0 ? amount.negate() : amount;
+    }
+    
+    // Adds the balance change this makes to each account
+    void collectBalanceDeltas(Map<String, BigDecimal> deltas) {
+        BigDecimal signedAmount = signedAmount();
+        if (type == Transaction.TransactionType.EXPENSE && fromAccount != null) {
+            deltas.merge(fromAccount, signedAmount.negate(), BigDecimal::add);
+        } else if (type == Transaction.TransactionType.INCOME && toAccount != null) {
+            deltas.merge(toAccount, signedAmount, BigDecimal::add);
+        } else if (type == Transaction.TransactionType.TRANSFER) {
+            if (fromAccount != null) {
+                deltas.merge(fromAccount, signedAmount.negate(), BigDecimal::add);
+            }
+            if (toAccount != null) {
+                deltas.merge(toAccount, signedAmount, BigDecimal::add);
+            }
+        }
+    }
+    
+    private static TransactionChange of(Transaction transaction, int sign) {
+        return new TransactionChange(
+            transaction.getId(),
+            sign,
+            transaction.getType(),
+            transaction.getAmount(),
+            transaction.getCategory(),
+            transaction.getDivision(),
+            transaction.getTransactionDate(),
+            transaction.getFromAccount(),
+            transaction.getToAccount()
+        );
+    }
+}
@@ -0,0 +1,45 @@
+package com.moneymanager.service;
+
+import com.moneymanager.exception.InvalidCursorException;
+import com.moneymanager.dto.TransactionDTO;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+// Position in the (transactionDate DESC, id DESC) ordering of the paged listings, handed to clients as an opaque token
+record TransactionCursor(LocalDateTime transactionDate, Long id) {
+    
+    static final TransactionCursor FIRST = new TransactionCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+    
+    private static final char SEPARATOR = '|';
+    
+    static TransactionCursor after(TransactionDTO transaction) {
+        return new TransactionCursor(transaction.getTransactionDate(), transaction.getId());
+    }
+    
+    static TransactionCursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return FIRST;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new InvalidCursorException("Invalid cursor: " + token);
+            }
+            return new TransactionCursor(
+                LocalDateTime.parse(value.substring(0, separator)),
+                Long.parseLong(value.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException ex) {
+            throw new InvalidCursorException("Invalid cursor: " + token);
+        }
+    }
+    
+    String encode() {
+        String value = transactionDate.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
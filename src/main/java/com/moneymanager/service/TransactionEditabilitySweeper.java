@@ -0,0 +1,52 @@
+package com.moneymanager.service;
+
+import com.moneymanager.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+// Clears is_editable in bulk once rows leave the 12 hour edit window, so the stored flag can be trusted by queries
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionEditabilitySweeper {
+    
+    private final TransactionRepository transactionRepository;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${moneymanager.editability.sweep-batch-size:5000}")
+    private int batchSize;
+    
+    @Scheduled(
+        initialDelayString = "${moneymanager.editability.sweep-interval:PT5M}",
+        fixedDelayString = "${moneymanager.editability.sweep-interval:PT5M}"
+    )
+    public void sweep() {
+        LocalDateTime cutoff = TransactionService.editCutoff();
+        int locked = 0;
+        int updated;
+        LocalDateTime closedBy = cutoff.plus(TransactionService.EDIT_WINDOW);
+        // Each batch commits on its own so a large backlog never holds one long transaction. Swept rows stop counting
+        // towards the transactions Last-Modified, so the same commit records when their windows had closed.
+        do {
+            updated = transactionTemplate.execute(status -> {
+                int swept = transactionRepository.lockTransactionsCreatedBefore(cutoff, batchSize);
+                if (swept > 0) {
+                    resourceVersions.editWindowsClosedBy(closedBy);
+                }
+                return swept;
+            });
+            locked += updated;
+        } while (updated == batchSize);
+        
+        if (locked > 0) {
+            log.debug("Closed the edit window for {} transactions", locked);
+        }
+    }
+}
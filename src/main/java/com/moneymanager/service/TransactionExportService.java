@@ -0,0 +1,132 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.LedgerTransactionRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Exports read the transaction_ledger view, so archived months are exported like any other
+@Service
+@RequiredArgsConstructor
+public class TransactionExportService {
+    
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER =
+        "id,type,amount,category,division,description,transactionDate,fromAccount,toAccount,createdAt,updatedAt,isEditable";
+    // The format Jackson writes LocalDateTime in, so CSV and NDJSON exports carry the same text; LocalDateTime.toString
+    // drops zero seconds and varies the fraction length
+    private static final DateTimeFormatter CSV_DATE_TIME = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    
+    private final LedgerTransactionRepository ledgerTransactionRepository;
+    private final ObjectMapper objectMapper;
+    
+    @Transactional(readOnly = true)
+    public void export(ExportFormat format,
+                       LocalDateTime startDate,
+                       LocalDateTime endDate,
+                       Transaction.TransactionType type,
+                       Transaction.Division division,
+                       String category,
+                       OutputStream outputStream) throws IOException {
+        try (Stream<TransactionDTO> rows = ledgerTransactionRepository.streamDtosForExport(startDate, endDate, type, division,
+                category, TransactionService.editCutoff());
+             Writer writer = new BufferedWriter(new OutputStreamWriter(outputStream, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+            if (format == ExportFormat.CSV) {
+                writeCsv(rows.iterator(), writer);
+            } else {
+                writeNdjson(rows.iterator(), writer);
+            }
+        }
+    }
+    
+    private void writeNdjson(Iterator<TransactionDTO> rows, Writer writer) throws IOException {
+        ObjectWriter rowWriter = objectMapper.writerFor(TransactionDTO.class)
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (rows.hasNext()) {
+                rowWriter.writeValue(generator, rows.next());
+                generator.writeRaw('\n');
+            }
+        }
+    }
+    
+    private void writeCsv(Iterator<TransactionDTO> rows, Writer writer) throws IOException {
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (rows.hasNext()) {
+            TransactionDTO dto = rows.next();
+            writer.write(String.valueOf(dto.getId()));
+            writeCsvField(writer, dto.getType());
+            writeCsvField(writer, dto.getAmount() != null ? dto.getAmount().toPlainString() : null);
+            writeCsvField(writer, dto.getCategory());
+            writeCsvField(writer, dto.getDivision());
+            writeCsvField(writer, dto.getDescription());
+            writeCsvField(writer, formatDateTime(dto.getTransactionDate()));
+            writeCsvField(writer, dto.getFromAccount());
+            writeCsvField(writer, dto.getToAccount());
+            writeCsvField(writer, formatDateTime(dto.getCreatedAt()));
+            writeCsvField(writer, formatDateTime(dto.getUpdatedAt()));
+            writeCsvField(writer, dto.getIsEditable());
+            writer.write('\n');
+        }
+    }
+    
+    private static String formatDateTime(LocalDateTime value) {
+        return value != null ? CSV_DATE_TIME.format(value) : null;
+    }
+    
+    private static void writeCsvField(Writer writer, Object value) throws IOException {
+        writer.write(',');
+        if (value == null) {
+            return;
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            writer.write(text);
+            return;
+        }
+        writer.write('"');
+        writer.write(text.replace("\"", "\"\""));
+        writer.write('"');
+    }
+    
+    public enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+        
+        private final String contentType;
+        private final String fileExtension;
+        
+        ExportFormat(String contentType, String fileExtension) {
+            this.contentType = contentType;
+            this.fileExtension = fileExtension;
+        }
+        
+        public String getContentType() {
+            return contentType;
+        }
+        
+        public String getFileExtension() {
+            return fileExtension;
+        }
+    }
+}
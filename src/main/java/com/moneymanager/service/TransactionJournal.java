@@ -0,0 +1,109 @@
+package com.moneymanager.service;
+
+import com.moneymanager.exception.JournalWaitTimeoutException;
+import com.moneymanager.model.TransactionJournalEntry;
+import com.moneymanager.repository.TransactionJournalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionJournal {
+    
+    public static final String SEQUENCE_HEADER = "X-Journal-Sequence";
+    public static final String SEQUENCE_ATTRIBUTE = TransactionJournal.class.getName() + ".sequence";
+    
+    private static final long POLL_INTERVAL_MILLIS = 20;
+    
+    private final TransactionJournalRepository journalRepository;
+    
+    @Value("${moneymanager.journal.mode:INLINE}")
+    private Mode mode;
+    
+    @Value("${moneymanager.journal.wait-timeout:PT5S}")
+    private Duration waitTimeout;
+    
+    public boolean isEnabled() {
+        return mode == Mode.JOURNAL;
+    }
+    
+    @Transactional
+    public void append(List<TransactionChange> changes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<TransactionJournalEntry> entries = journalRepository.saveAll(
+            changes.stream().map(change -> toEntry(change, now)).toList());
+        
+        long lastSequence = entries.stream().mapToLong(TransactionJournalEntry::getSequenceNo).max().orElse(0);
+        exposeSequence(lastSequence);
+    }
+    
+    // Read-your-writes: returns once every entry up to the sequence has been projected (projected entries are deleted)
+    public void awaitProjected(long sequence) {
+        long deadline = System.nanoTime() + waitTimeout.toNanos();
+        while (journalRepository.existsBySequenceNoLessThanEqual(sequence)) {
+            if (System.nanoTime() > deadline) {
+                throw new JournalWaitTimeoutException("Journal sequence " + sequence + " was not projected within " + waitTimeout);
+            }
+            try {
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new JournalWaitTimeoutException("Interrupted while waiting for journal sequence " + sequence);
+            }
+        }
+    }
+    
+    static TransactionChange toChange(TransactionJournalEntry entry) {
+        return new TransactionChange(
+            entry.getTransactionId(),
+            entry.getSign(),
+            entry.getType(),
+            entry.getAmount(),
+            entry.getCategory(),
+            entry.getDivision(),
+            entry.getTransactionDate(),
+            entry.getFromAccount(),
+            entry.getToAccount()
+        );
+    }
+    
+    private static TransactionJournalEntry toEntry(TransactionChange change, LocalDateTime recordedAt) {
+        return new TransactionJournalEntry(
+            null,
+            change.transactionId(),
+            change.sign(),
+            change.type(),
+            change.amount(),
+            change.category(),
+            change.division(),
+            change.transactionDate(),
+            change.fromAccount(),
+            change.toAccount(),
+            recordedAt
+        );
+    }
+    
+    // Picked up by JournalSequenceAdvice and returned to the client as the X-Journal-Sequence header
+    private static void exposeSequence(long sequence) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return;
+        }
+        Long current = (Long) attributes.getAttribute(SEQUENCE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (current == null || current < sequence) {
+            attributes.setAttribute(SEQUENCE_ATTRIBUTE, sequence, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+    
+    public enum Mode {
+        INLINE, JOURNAL
+    }
+}
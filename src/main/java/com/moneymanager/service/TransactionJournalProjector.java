@@ -0,0 +1,61 @@
+package com.moneymanager.service;
+
+import com.moneymanager.model.TransactionJournalEntry;
+import com.moneymanager.repository.TransactionJournalRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+// Drains the write journal into balances, rollups and caches. Fixed-delay runs never overlap, so within one instance
+// every account has one writer; a batch nets each account's entries into a single balance update. The scheduler has a
+// thread per job (spring.task.scheduling.pool.size), so slower jobs never hold this one up.
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TransactionJournalProjector {
+    
+    private final TransactionJournalRepository journalRepository;
+    private final TransactionProjections transactionProjections;
+    private final DashboardCache dashboardCache;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${moneymanager.journal.batch-size:500}")
+    private int batchSize;
+    
+    @Scheduled(fixedDelayString = "${moneymanager.journal.projection-interval:PT0.2S}")
+    public void project() {
+        int projected = 0;
+        Integer batch;
+        // Each batch commits on its own: projection and deletion of its entries succeed or fail together
+        do {
+            batch = transactionTemplate.execute(status -> projectBatch());
+            projected += batch;
+        } while (batch == batchSize);
+        
+        if (projected > 0) {
+            log.debug("Projected {} journal entries", projected);
+        }
+    }
+    
+    private int projectBatch() {
+        Long upTo = journalRepository.findBatchUpperBound(batchSize);
+        if (upTo == null) {
+            return 0;
+        }
+        List<TransactionJournalEntry> entries = journalRepository.lockUpTo(upTo);
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        List<TransactionChange> changes = entries.stream().map(TransactionJournal::toChange).toList();
+        transactionProjections.apply(changes);
+        // The write already evicted these dashboards; evict again for any read from the rollups in between
+        dashboardCache.evictAfterCommit(changes);
+        journalRepository.deleteAllInBatch(entries);
+        return entries.size();
+    }
+}
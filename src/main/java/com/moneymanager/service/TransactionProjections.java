@@ -0,0 +1,74 @@
+package com.moneymanager.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Brings the views derived from transactions up to date: account balances, daily rollups and the dashboard cache.
+// Runs inside the write transaction in inline mode, or from TransactionJournalProjector in journal mode.
+@Component
+@RequiredArgsConstructor
+public class TransactionProjections {
+    
+    private final AccountService accountService;
+    private final AccountNameResolver accountNameResolver;
+    private final AccountBalanceHistoryService balanceHistoryService;
+    private final DailyRollupService dailyRollupService;
+    private final ResourceVersions resourceVersions;
+    
+    @Transactional
+    public void apply(List<TransactionChange> changes) {
+        applyBalanceChanges(changes);
+        dailyRollupService.applyAll(changes);
+        // In journal mode the rollups change here, after the write's own commit
+        resourceVersions.changed(ResourceVersions.Resource.TRANSACTIONS);
+    }
+    
+    // Nets the changes per account; the TreeMap keeps account-name order so concurrent writers lock accounts consistently
+    static Map<String, BigDecimal> balanceDeltas(Collection<TransactionChange> changes) {
+        Map<String, BigDecimal> deltas = new TreeMap<>();
+        changes.forEach(change -> change.collectBalanceDeltas(deltas));
+        return deltas;
+    }
+    
+    // The same changes per account and transaction date, for the balance history; an edit that moves a transaction to
+    // another date takes it back on the old date and applies it on the new one. Dates that net to zero are dropped.
+    static Map<String, Map<LocalDateTime, BigDecimal>> historyDeltas(Collection<TransactionChange> changes) {
+        Map<String, Map<LocalDateTime, BigDecimal>> history = new TreeMap<>();
+        for (TransactionChange change : changes) {
+            Map<String, BigDecimal> deltas = new HashMap<>();
+            change.collectBalanceDeltas(deltas);
+            deltas.forEach((accountName, delta) -> history.computeIfAbsent(accountName, name -> new TreeMap<>())
+                .merge(change.transactionDate(), delta, BigDecimal::add));
+        }
+        history.values().forEach(byDate -> byDate.values().removeIf(delta -> delta.signum() == 0));
+        history.values().removeIf(Map::isEmpty);
+        return history;
+    }
+    
+    // Each account's balance moves once by the net amount, and its history records the changes at their dates. Both
+    // happen account by account in name order, as both take the account's row lock.
+    private void applyBalanceChanges(List<TransactionChange> changes) {
+        Map<String, BigDecimal> balanceDeltas = balanceDeltas(changes);
+        historyDeltas(changes).forEach((accountName, deltasByDate) -> {
+            // Accounts are validated when the write is accepted and cannot be deleted while journal entries name them.
+            // Should one go missing anyway, the batch fails and its entries stay in the journal rather than being lost.
+            if (!accountNameResolver.contains(accountName)) {
+                throw new IllegalStateException("Balance change of " + deltasByDate + " for unknown account " + accountName);
+            }
+            BigDecimal delta = balanceDeltas.get(accountName);
+            if (delta.signum() != 0) {
+                accountService.updateBalance(accountName, delta);
+            }
+            balanceHistoryService.record(accountNameResolver.resolve(accountName), deltasByDate);
+        });
+    }
+}
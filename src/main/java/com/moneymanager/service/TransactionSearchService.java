@@ -0,0 +1,325 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.model.LedgerTransaction;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.LedgerTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.classic.ParseException;
+import org.apache.lucene.queryparser.classic.QueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Embedded Lucene index over transaction descriptions. Only the id is stored: the index ranks and filters,
+// and the matching page is loaded from the database by primary key so results never show stale amounts.
+// The index is per instance: local writes are indexed as they commit, and every commit interval the rows updated
+// since the last index commit are read back from the database, which picks up writes made on other instances and any
+// local write whose indexing was lost. Each index commit records that high-water mark, so a restart catches up from it.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TransactionSearchService {
+    
+    public static final int MAX_RESULTS = 100;
+    
+    private static final String ID = "id";
+    private static final String DESCRIPTION = "description";
+    private static final String TYPE = "type";
+    private static final String DIVISION = "division";
+    private static final String TRANSACTION_DATE = "transactionDate";
+    private static final String INDEXED_UNTIL = "indexedUntil";
+    
+    private final LedgerTransactionRepository ledgerTransactionRepository;
+    private final TransactionArchiver transactionArchiver;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    
+    @Value("${moneymanager.search.index-path:data/search-index}")
+    private Path indexPath;
+    
+    // Re-read window behind the mark: covers a transaction that committed after a later one was seen, and clock skew
+    // between instances, since updated_at is stamped by the instance that wrote the row
+    @Value("${moneymanager.search.catch-up-overlap:PT1M}")
+    private Duration catchUpOverlap;
+    
+    private final StandardAnalyzer analyzer = new StandardAnalyzer();
+    private Directory directory;
+    private IndexWriter indexWriter;
+    private SearcherManager searcherManager;
+    private volatile LocalDateTime indexedUntil;
+    
+    @PostConstruct
+    void open() throws IOException {
+        directory = FSDirectory.open(indexPath);
+        indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+            .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        // Near-real-time: searchers see the writer's buffered changes on refresh, without waiting for a commit
+        searcherManager = new SearcherManager(indexWriter, null);
+    }
+    
+    @PreDestroy
+    void close() throws IOException {
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+    
+    // An index without a mark (first start, a lost volume) is filled from the database; any other catches up from it
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStart() {
+        LocalDateTime mark = committedMark();
+        indexedUntil = mark;
+        if (mark == null) {
+            transactionTemplate.execute(status -> rebuild());
+        } else {
+            long indexed = catchUp();
+            log.info("Search index caught up from {}: {} transactions", mark, indexed);
+        }
+    }
+    
+    @Transactional(readOnly = true)
+    public List<TransactionDTO> search(String text,
+                                       Transaction.TransactionType type,
+                                       Transaction.Division division,
+                                       LocalDateTime startDate,
+                                       LocalDateTime endDate,
+                                       int size) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<Long> ids = searchIds(text, type, division, startDate, endDate, Math.max(1, Math.min(size, MAX_RESULTS)));
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        
+        // Ids whose rows were deleted since the last refresh simply drop out here
+        Map<Long, TransactionDTO> rows = transactionArchiver.read(startDate, reads -> reads.findDtosByIds(ids, TransactionService.editCutoff())).stream()
+            .collect(Collectors.toMap(TransactionDTO::getId, Function.identity()));
+        List<TransactionDTO> ranked = new ArrayList<>(rows.size());
+        for (Long id : ids) {
+            TransactionDTO row = rows.get(id);
+            if (row != null) {
+                ranked.add(row);
+            }
+        }
+        return ranked;
+    }
+    
+    List<Long> searchIds(String text,
+                         Transaction.TransactionType type,
+                         Transaction.Division division,
+                         LocalDateTime startDate,
+                         LocalDateTime endDate,
+                         int limit) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder()
+            .add(parse(text), BooleanClause.Occur.MUST);
+        // Filters narrow the candidates inside the index and do not contribute to the score
+        if (type != null) {
+            query.add(new TermQuery(new Term(TYPE, type.name())), BooleanClause.Occur.FILTER);
+        }
+        if (division != null) {
+            query.add(new TermQuery(new Term(DIVISION, division.name())), BooleanClause.Occur.FILTER);
+        }
+        if (startDate != null || endDate != null) {
+            long lower = startDate != null ? toEpochSecond(startDate) : Long.MIN_VALUE;
+            long upper = endDate != null ? toEpochSecond(endDate) : Long.MAX_VALUE;
+            query.add(LongPoint.newRangeQuery(TRANSACTION_DATE, lower, upper), BooleanClause.Occur.FILTER);
+        }
+        
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                ScoreDoc[] hits = searcher.search(query.build(), limit).scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>(hits.length);
+                for (ScoreDoc hit : hits) {
+                    ids.add(Long.valueOf(storedFields.document(hit.doc).get(ID)));
+                }
+                return ids;
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    // Writes reach the index only once the database has committed them; a failure is logged rather than thrown
+    // because the transaction can no longer roll back, and POST /api/transactions/search/rebuild repairs the index
+    void indexAfterCommit(Collection<Transaction> transactions) {
+        List<Document> documents = transactions.stream()
+            .map(transaction -> toDocument(transaction.getId(), transaction.getDescription(), transaction.getType(),
+                transaction.getDivision(), transaction.getTransactionDate()))
+            .toList();
+        AfterCommit.run(() -> {
+            try {
+                for (Document document : documents) {
+                    indexWriter.updateDocument(new Term(ID, document.get(ID)), document);
+                }
+            } catch (IOException e) {
+                log.error("Failed to index {} transactions", documents.size(), e);
+            }
+        });
+    }
+    
+    void removeAfterCommit(Long id) {
+        AfterCommit.run(() -> {
+            try {
+                indexWriter.deleteDocuments(new Term(ID, String.valueOf(id)));
+            } catch (IOException e) {
+                log.error("Failed to remove transaction {} from the search index", id, e);
+            }
+        });
+    }
+    
+    // Reads the ledger view, so archived months stay searchable after a rebuild
+    @Transactional(readOnly = true)
+    public synchronized long rebuild() {
+        LocalDateTime until = LocalDateTime.now();
+        long indexed = 0;
+        try (Stream<LedgerTransaction> rows = ledgerTransactionRepository.streamAll()) {
+            indexWriter.deleteAll();
+            Iterator<LedgerTransaction> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                LedgerTransaction row = iterator.next();
+                indexWriter.addDocument(toDocument(row.getId(), row.getDescription(), row.getType(), row.getDivision(), row.getTransactionDate()));
+                entityManager.detach(row);
+                indexed++;
+            }
+            commit(until);
+            searcherManager.maybeRefresh();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Rebuilt search index: {} transactions", indexed);
+        return indexed;
+    }
+    
+    // Reopening per write would dominate the write path; searchers pick up buffered changes on this interval instead.
+    // Blocking, so everything indexed before a call is visible after it even when another refresh is in progress
+    @Scheduled(fixedDelayString = "${moneymanager.search.refresh-interval:PT1S}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+    
+    // Rows deleted on another instance are not seen here; search drops their ids when the rows fail to load,
+    // and a rebuild purges them
+    @Scheduled(fixedDelayString = "${moneymanager.search.commit-interval:PT1M}",
+               initialDelayString = "${moneymanager.search.commit-interval:PT1M}")
+    public synchronized long catchUp() {
+        LocalDateTime since = indexedUntil;
+        if (since == null) {
+            return 0;
+        }
+        LocalDateTime until = LocalDateTime.now();
+        return transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<LedgerTransaction> rows = ledgerTransactionRepository.streamUpdatedSince(since.minus(catchUpOverlap))) {
+                Iterator<LedgerTransaction> iterator = rows.iterator();
+                while (iterator.hasNext()) {
+                    LedgerTransaction row = iterator.next();
+                    Document document = toDocument(row.getId(), row.getDescription(), row.getType(), row.getDivision(), row.getTransactionDate());
+                    indexWriter.updateDocument(new Term(ID, document.get(ID)), document);
+                    entityManager.detach(row);
+                    count++;
+                }
+                commit(until);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return count;
+        });
+    }
+    
+    // Everything updated before the mark, less the overlap, is in this commit
+    private void commit(LocalDateTime until) throws IOException {
+        indexWriter.setLiveCommitData(Map.of(INDEXED_UNTIL, until.toString()).entrySet());
+        indexWriter.commit();
+        indexedUntil = until;
+    }
+    
+    private LocalDateTime committedMark() {
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> entry : commitData) {
+                if (INDEXED_UNTIL.equals(entry.getKey())) {
+                    return LocalDateTime.parse(entry.getValue());
+                }
+            }
+        }
+        return null;
+    }
+    
+    // User input is matched as plain words, every word required; Lucene operators are escaped rather than rejected
+    private Query parse(String text) {
+        QueryParser parser = new QueryParser(DESCRIPTION, analyzer);
+        parser.setDefaultOperator(QueryParser.Operator.AND);
+        try {
+            return parser.parse(QueryParser.escape(text));
+        } catch (ParseException e) {
+            throw new IllegalStateException("Escaped search text failed to parse: " + text, e);
+        }
+    }
+    
+    private static Document toDocument(Long id,
+                                       String description,
+                                       Transaction.TransactionType type,
+                                       Transaction.Division division,
+                                       LocalDateTime transactionDate) {
+        Document document = new Document();
+        document.add(new StringField(ID, String.valueOf(id), Field.Store.YES));
+        document.add(new TextField(DESCRIPTION, description != null ? description : "", Field.Store.NO));
+        document.add(new StringField(TYPE, type.name(), Field.Store.NO));
+        document.add(new StringField(DIVISION, division.name(), Field.Store.NO));
+        document.add(new LongPoint(TRANSACTION_DATE, toEpochSecond(transactionDate)));
+        return document;
+    }
+    
+    // Local date-times are compared as they are stored, so UTC here is just a fixed encoding, not a time zone
+    private static long toEpochSecond(LocalDateTime dateTime) {
+        return dateTime.atOffset(ZoneOffset.UTC).toEpochSecond();
+    }
+}
@@ -1,76 +1,119 @@
 package com.moneymanager.service;
 
+import com.moneymanager.dto.CacheStatsDTO;
 import com.moneymanager.dto.DashboardSummaryDTO;
 import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionPageDTO;
 import com.moneymanager.dto.TransactionRequestDTO;
 import com.moneymanager.exception.ResourceNotFoundException;
 import com.moneymanager.exception.TransactionNotEditableException;
 import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.LedgerTransactionRepository;
+import com.moneymanager.repository.TransactionReads;
 import com.moneymanager.repository.TransactionRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
+@Timed(value = "moneymanager.service", histogram = true)
 public class TransactionService {
     
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final Duration EDIT_WINDOW = Duration.ofHours(12);
+    private static final int RECENT_TRANSACTIONS = 10;
+    
     private final TransactionRepository transactionRepository;
     private final AccountService accountService;
+    private final DailyRollupService dailyRollupService;
+    private final DashboardCache dashboardCache;
+    private final TransactionProjections transactionProjections;
+    private final TransactionJournal transactionJournal;
+    private final CategoryDictionary categoryDictionary;
+    private final TransactionSearchService transactionSearchService;
+    private final BudgetTracker budgetTracker;
+    private final TransactionArchiver transactionArchiver;
+    private final LedgerTransactionRepository ledgerTransactionRepository;
+    private final ResourceVersions resourceVersions;
+    private final TransactionTemplate transactionTemplate;
     
-    @Transactional
+    @Value("${moneymanager.dashboard.verify-aggregation:false}")
+    private boolean verifyDashboardAggregation;
+    
+    @Value("${moneymanager.dashboard.read-rollups:false}")
+    private boolean readDailyRollups;
+    
+    // New categories are registered in the write's own transaction once its checks have passed, so a rejected
+    // write leaves none behind
     public TransactionDTO createTransaction(TransactionRequestDTO requestDTO) {
-        Transaction transaction = new Transaction();
-        transaction.setType(requestDTO.getType());
-        transaction.setAmount(requestDTO.getAmount());
-        transaction.setCategory(requestDTO.getCategory());
-        transaction.setDivision(requestDTO.getDivision());
-        transaction.setDescription(requestDTO.getDescription());
-        transaction.setTransactionDate(requestDTO.getTransactionDate());
-        transaction.setFromAccount(requestDTO.getFromAccount());
-        transaction.setToAccount(requestDTO.getToAccount());
-        transaction.setIsEditable(true);
-        
-        Transaction savedTransaction = transactionRepository.save(transaction);
-        
-        // Update account balances
-        if (requestDTO.getType() == Transaction.TransactionType.EXPENSE && requestDTO.getFromAccount() != null) {
-            accountService.updateBalance(requestDTO.getFromAccount(), requestDTO.getAmount().negate());
-        } else if (requestDTO.getType() == Transaction.TransactionType.INCOME && requestDTO.getToAccount() != null) {
-            accountService.updateBalance(requestDTO.getToAccount(), requestDTO.getAmount());
-        } else if (requestDTO.getType() == Transaction.TransactionType.TRANSFER) {
-            if (requestDTO.getFromAccount() != null) {
-                accountService.updateBalance(requestDTO.getFromAccount(), requestDTO.getAmount().negate());
-            }
-            if (requestDTO.getToAccount() != null) {
-                accountService.updateBalance(requestDTO.getToAccount(), requestDTO.getAmount());
-            }
-        }
+        return transactionTemplate.execute(status -> {
+            Transaction transaction = toEntity(requestDTO);
+            requireAccounts(List.of(TransactionChange.applied(transaction)));
+            registerCategories(List.of(transaction));
+            
+            Transaction savedTransaction = transactionRepository.save(transaction);
+            publish(List.of(TransactionChange.applied(savedTransaction)));
+            transactionSearchService.indexAfterCommit(List.of(savedTransaction));
+            
+            return convertToDTO(savedTransaction, editCutoff());
+        });
+    }
+    
+    public List<TransactionDTO> createTransactions(List<TransactionRequestDTO> requestDTOs) {
+        List<Transaction> savedTransactions = transactionTemplate.execute(status -> persistBatch(requestDTOs.stream()
+            .map(this::toEntity)
+            .collect(Collectors.toList())));
         
-        return convertToDTO(savedTransaction);
+        LocalDateTime cutoff = editCutoff();
+        return savedTransactions.stream()
+            .map(transaction -> convertToDTO(transaction, cutoff))
+            .collect(Collectors.toList());
     }
     
+    // Shared by batch import and recurring generation; joins the caller's transaction
     @Transactional
+    List<Transaction> persistBatch(List<Transaction> transactions) {
+        requireAccounts(transactions.stream().map(TransactionChange::applied).toList());
+        registerCategories(transactions);
+        
+        // Inserts go out in JDBC batches with ids from the pooled sequence; balances are netted per account
+        List<Transaction> savedTransactions = transactionRepository.saveAll(transactions);
+        publish(savedTransactions.stream().map(TransactionChange::applied).toList());
+        transactionSearchService.indexAfterCommit(savedTransactions);
+        return savedTransactions;
+    }
+    
     public TransactionDTO updateTransaction(Long id, TransactionRequestDTO requestDTO) {
+        return transactionTemplate.execute(status -> update(id, requestDTO));
+    }
+    
+    private TransactionDTO update(Long id, TransactionRequestDTO requestDTO) {
         Transaction transaction = transactionRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+            .orElseThrow(() -> missing(id, "edited"));
         
         // Check if transaction is still editable (within 12 hours)
-        if (!isEditable(transaction)) {
+        if (!isEditable(transaction, editCutoff())) {
             throw new TransactionNotEditableException("Transaction cannot be edited after 12 hours");
         }
         
-        // Revert previous account balance changes
-        revertAccountBalances(transaction);
+        // Take back the previous values before applying the new ones
+        TransactionChange reverted = TransactionChange.reverted(transaction);
         
         transaction.setType(requestDTO.getType());
         transaction.setAmount(requestDTO.getAmount());
@@ -81,142 +124,259 @@ public class TransactionService {
         transaction.setFromAccount(requestDTO.getFromAccount());
         transaction.setToAccount(requestDTO.getToAccount());
         
-        Transaction updatedTransaction = transactionRepository.save(transaction);
+        List<TransactionChange> changes = List.of(reverted, TransactionChange.applied(transaction));
+        requireAccounts(changes);
+        registerCategories(List.of(transaction));
         
-        // Apply new account balance changes
-        applyAccountBalances(updatedTransaction);
+        Transaction updatedTransaction = transactionRepository.save(transaction);
+        publish(changes);
+        transactionSearchService.indexAfterCommit(List.of(updatedTransaction));
         
-        return convertToDTO(updatedTransaction);
+        return convertToDTO(updatedTransaction, editCutoff());
     }
     
     @Transactional
     public void deleteTransaction(Long id) {
         Transaction transaction = transactionRepository.findById(id)
-            .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
+            .orElseThrow(() -> missing(id, "deleted"));
         
-        if (!isEditable(transaction)) {
+        if (!isEditable(transaction, editCutoff())) {
             throw new TransactionNotEditableException("Transaction cannot be deleted after 12 hours");
         }
         
-        // Revert account balance changes
-        revertAccountBalances(transaction);
-        
+        publish(List.of(TransactionChange.reverted(transaction)));
         transactionRepository.delete(transaction);
+        transactionSearchService.removeAfterCommit(id);
     }
     
+    @Transactional(readOnly = true)
     public TransactionDTO getTransactionById(Long id) {
-        Transaction transaction = transactionRepository.findById(id)
+        LocalDateTime cutoff = editCutoff();
+        // The hot table answers almost every lookup; the ledger is only consulted for ids it does not hold
+        return transactionRepository.findDtoById(id, cutoff)
+            .or(() -> ledgerTransactionRepository.findDtoById(id, cutoff))
             .orElseThrow(() -> new ResourceNotFoundException("Transaction not found with id: " + id));
-        return convertToDTO(transaction);
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getAllTransactions() {
-        return transactionRepository.findAllOrderByDateDesc().stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return transactionArchiver.read(null, reads -> reads.findAllDtosOrderByDateDesc(editCutoff()));
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByDateRange(LocalDateTime startDate, LocalDateTime endDate) {
-        return transactionRepository.findByTransactionDateBetween(startDate, endDate).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return transactionArchiver.read(startDate, reads -> reads.findDtosByDateRange(startDate, endDate, editCutoff()));
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByType(Transaction.TransactionType type) {
-        return transactionRepository.findByType(type).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return transactionArchiver.read(null, reads -> reads.findDtosByType(type, editCutoff()));
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByDivision(Transaction.Division division) {
-        return transactionRepository.findByDivision(division).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return transactionArchiver.read(null, reads -> reads.findDtosByDivision(division, editCutoff()));
     }
     
+    @Transactional(readOnly = true)
     public List<TransactionDTO> getTransactionsByCategory(String category) {
-        return transactionRepository.findByCategory(category).stream()
-            .map(this::convertToDTO)
-            .collect(Collectors.toList());
+        return transactionArchiver.read(null, reads -> reads.findDtosByCategory(category, editCutoff()));
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsPage(String cursor, int size) {
+        return toPage(cursor, size, (position, pageable) ->
+            transactionArchiver.read(null, reads -> reads.findPageBefore(position.transactionDate(), position.id(), editCutoff(), pageable)));
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsByDateRangePage(LocalDateTime startDate, LocalDateTime endDate, String cursor, int size) {
+        return toPage(cursor, size, (position, pageable) ->
+            transactionArchiver.read(startDate, reads -> reads.findPageByDateRangeBefore(startDate, endDate, position.transactionDate(), position.id(), editCutoff(), pageable)));
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsByTypePage(Transaction.TransactionType type, String cursor, int size) {
+        return toPage(cursor, size, (position, pageable) ->
+            transactionArchiver.read(null, reads -> reads.findPageByTypeBefore(type, position.transactionDate(), position.id(), editCutoff(), pageable)));
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsByDivisionPage(Transaction.Division division, String cursor, int size) {
+        return toPage(cursor, size, (position, pageable) ->
+            transactionArchiver.read(null, reads -> reads.findPageByDivisionBefore(division, position.transactionDate(), position.id(), editCutoff(), pageable)));
     }
     
+    @Transactional(readOnly = true)
+    public TransactionPageDTO getTransactionsByCategoryPage(String category, String cursor, int size) {
+        return toPage(cursor, size, (position, pageable) ->
+            transactionArchiver.read(null, reads -> reads.findPageByCategoryBefore(category, position.transactionDate(), position.id(), editCutoff(), pageable)));
+    }
+    
+    private TransactionPageDTO toPage(String cursor, int size,
+                                      BiFunction<TransactionCursor, Pageable, List<TransactionDTO>> pageQuery) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        // Fetch one extra row to learn whether another page exists without a count query
+        List<TransactionDTO> rows = pageQuery.apply(TransactionCursor.decode(cursor), PageRequest.of(0, pageSize + 1));
+        
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionDTO> page = hasMore ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasMore ? TransactionCursor.after(page.get(page.size() - 1)).encode() : null;
+        return new TransactionPageDTO(page, nextCursor, hasMore);
+    }
+    
+    // Not transactional so cache hits never check out a connection; the repository reads run read-only on their own
     public DashboardSummaryDTO getDashboardSummary(LocalDateTime startDate, LocalDateTime endDate) {
-        List<Transaction> transactions = transactionRepository.findByTransactionDateBetween(startDate, endDate);
+        return dashboardCache.getDashboardSummary(startDate, endDate, () -> {
+            DashboardSummaryDTO summary = aggregateDashboardSummary(startDate, endDate);
+            if (verifyDashboardAggregation) {
+                verifyAgainstInMemorySummary(summary, startDate, endDate);
+            }
+            return summary;
+        });
+    }
+    
+    DashboardSummaryDTO aggregateDashboardSummary(LocalDateTime startDate, LocalDateTime endDate) {
+        List<TransactionRepository.CategoryTotal> categoryTotals = readDailyRollups
+            ? dailyRollupService.sumByTypeAndCategory(startDate, endDate)
+            : transactionArchiver.read(startDate, reads -> reads.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                startDate, endDate));
+        
+        MoneyAccumulator totals = new MoneyAccumulator();
+        for (TransactionRepository.CategoryTotal categoryTotal : categoryTotals) {
+            totals.add(categoryTotal.getType(), categoryTotal.getCategory(), categoryTotal.getTotal());
+        }
         
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpense = BigDecimal.ZERO;
-        Map<String, BigDecimal> categoryWiseExpense = new HashMap<>();
-        Map<String, BigDecimal> categoryWiseIncome = new HashMap<>();
+        List<TransactionDTO> recentTransactions =
+            transactionArchiver.read(startDate, reads -> reads.findRecentDtos(startDate, endDate, editCutoff(), PageRequest.of(0, RECENT_TRANSACTIONS)));
         
+        return toSummary(totals, recentTransactions);
+    }
+    
+    DashboardSummaryDTO summarizeInMemory(List<Transaction> transactions) {
+        MoneyAccumulator totals = new MoneyAccumulator();
         for (Transaction transaction : transactions) {
-            if (transaction.getType() == Transaction.TransactionType.INCOME) {
-                totalIncome = totalIncome.add(transaction.getAmount());
-                categoryWiseIncome.merge(transaction.getCategory(), transaction.getAmount(), BigDecimal::add);
-            } else if (transaction.getType() == Transaction.TransactionType.EXPENSE) {
-                totalExpense = totalExpense.add(transaction.getAmount());
-                categoryWiseExpense.merge(transaction.getCategory(), transaction.getAmount(), BigDecimal::add);
-            }
+            totals.add(transaction.getType(), transaction.getCategory(), transaction.getAmount());
         }
         
-        BigDecimal balance = totalIncome.subtract(totalExpense);
-        
+        LocalDateTime cutoff = editCutoff();
         List<TransactionDTO> recentTransactions = transactions.stream()
             .sorted((t1, t2) -> t2.getTransactionDate().compareTo(t1.getTransactionDate()))
-            .limit(10)
-            .map(this::convertToDTO)
+            .limit(RECENT_TRANSACTIONS)
+            .map(transaction -> convertToDTO(transaction, cutoff))
             .collect(Collectors.toList());
         
+        return toSummary(totals, recentTransactions);
+    }
+    
+    // Amounts are summed as long cents and only become BigDecimals here
+    private static DashboardSummaryDTO toSummary(MoneyAccumulator totals, List<TransactionDTO> recentTransactions) {
+        BigDecimal totalIncome = totals.totalIncome();
+        BigDecimal totalExpense = totals.totalExpense();
         return new DashboardSummaryDTO(
             totalIncome,
             totalExpense,
-            balance,
-            categoryWiseExpense,
-            categoryWiseIncome,
+            totalIncome.subtract(totalExpense),
+            totals.categoryWiseExpense(),
+            totals.categoryWiseIncome(),
             recentTransactions
         );
     }
     
+    // The rows are read from the ledger, so archived months are checked as well as the hot ones
+    boolean verifyAgainstInMemorySummary(DashboardSummaryDTO summary, LocalDateTime startDate, LocalDateTime endDate) {
+        MoneyAccumulator totals = new MoneyAccumulator();
+        for (TransactionDTO row : ledgerTransactionRepository.findDtosByDateRange(startDate, endDate, editCutoff())) {
+            totals.add(row.getType(), row.getCategory(), row.getAmount());
+        }
+        DashboardSummaryDTO expected = toSummary(totals, List.of());
+        
+        boolean totalsMatch = summary.getTotalIncome().compareTo(expected.getTotalIncome()) == 0
+            && summary.getTotalExpense().compareTo(expected.getTotalExpense()) == 0
+            && sameAmounts(summary.getCategoryWiseIncome(), expected.getCategoryWiseIncome())
+            && sameAmounts(summary.getCategoryWiseExpense(), expected.getCategoryWiseExpense());
+        
+        if (!totalsMatch) {
+            log.warn("Dashboard aggregation mismatch for {} - {}: aggregated={}, inMemory={}",
+                startDate, endDate, summary, expected);
+        }
+        return totalsMatch;
+    }
+    
+    private static boolean sameAmounts(Map<String, BigDecimal> actual, Map<String, BigDecimal> expected) {
+        if (!actual.keySet().equals(expected.keySet())) {
+            return false;
+        }
+        return actual.entrySet().stream()
+            .allMatch(entry -> entry.getValue().compareTo(expected.get(entry.getKey())) == 0);
+    }
+    
     public List<String> getCategories(Transaction.TransactionType type) {
-        return transactionRepository.findDistinctCategoriesByType(type);
+        return categoryDictionary.namesFor(type);
     }
     
-    private boolean isEditable(Transaction transaction) {
-        LocalDateTime now = LocalDateTime.now();
-        long hoursSinceCreation = ChronoUnit.HOURS.between(transaction.getCreatedAt(), now);
-        return hoursSinceCreation < 12;
+    public List<CacheStatsDTO> getCacheStats() {
+        return dashboardCache.getStats();
     }
     
-    private void revertAccountBalances(Transaction transaction) {
-        if (transaction.getType() == Transaction.TransactionType.EXPENSE && transaction.getFromAccount() != null) {
-            accountService.updateBalance(transaction.getFromAccount(), transaction.getAmount());
-        } else if (transaction.getType() == Transaction.TransactionType.INCOME && transaction.getToAccount() != null) {
-            accountService.updateBalance(transaction.getToAccount(), transaction.getAmount().negate());
-        } else if (transaction.getType() == Transaction.TransactionType.TRANSFER) {
-            if (transaction.getFromAccount() != null) {
-                accountService.updateBalance(transaction.getFromAccount(), transaction.getAmount());
-            }
-            if (transaction.getToAccount() != null) {
-                accountService.updateBalance(transaction.getToAccount(), transaction.getAmount().negate());
-            }
+    // One clock read per request: rows are compared against this instead of computing their age one by one
+    static LocalDateTime editCutoff() {
+        return LocalDateTime.now().minus(EDIT_WINDOW);
+    }
+    
+    // The stored flag is cleared in bulk by TransactionEditabilitySweeper; the cutoff covers rows it has not reached yet
+    static boolean isEditable(Transaction transaction, LocalDateTime cutoff) {
+        return Boolean.TRUE.equals(transaction.getIsEditable()) && transaction.getCreatedAt().isAfter(cutoff);
+    }
+    
+    // Archived rows are past the edit window by construction, so they report as not editable rather than missing
+    private RuntimeException missing(Long id, String action) {
+        if (ledgerTransactionRepository.existsById(id)) {
+            return new TransactionNotEditableException("Transaction cannot be " + action + " after 12 hours");
         }
+        return new ResourceNotFoundException("Transaction not found with id: " + id);
     }
     
-    private void applyAccountBalances(Transaction transaction) {
-        if (transaction.getType() == Transaction.TransactionType.EXPENSE && transaction.getFromAccount() != null) {
-            accountService.updateBalance(transaction.getFromAccount(), transaction.getAmount().negate());
-        } else if (transaction.getType() == Transaction.TransactionType.INCOME && transaction.getToAccount() != null) {
-            accountService.updateBalance(transaction.getToAccount(), transaction.getAmount());
-        } else if (transaction.getType() == Transaction.TransactionType.TRANSFER) {
-            if (transaction.getFromAccount() != null) {
-                accountService.updateBalance(transaction.getFromAccount(), transaction.getAmount().negate());
-            }
-            if (transaction.getToAccount() != null) {
-                accountService.updateBalance(transaction.getToAccount(), transaction.getAmount());
-            }
+    private void requireAccounts(List<TransactionChange> changes) {
+        accountService.requireAccounts(TransactionProjections.balanceDeltas(changes).keySet());
+    }
+    
+    // Inline mode updates balances and rollups in this transaction; journal mode records the changes
+    // for TransactionJournalProjector, so the request commits after the transaction row and one journal insert
+    private void publish(List<TransactionChange> changes) {
+        if (transactionJournal.isEnabled()) {
+            transactionJournal.append(changes);
+        } else {
+            transactionProjections.apply(changes);
+        }
+        // Dashboards read the transaction rows, which change with this commit in either mode
+        dashboardCache.evictAfterCommit(changes);
+        // Budget counters follow every committed write in either mode: one lookup and one atomic add per change
+        budgetTracker.applyAfterCommit(changes);
+        resourceVersions.changed(ResourceVersions.Resource.TRANSACTIONS);
+    }
+    
+    private void registerCategories(List<Transaction> transactions) {
+        for (Transaction transaction : transactions) {
+            categoryDictionary.register(transaction.getType(), transaction.getCategory());
         }
     }
     
-    private TransactionDTO convertToDTO(Transaction transaction) {
+    private Transaction toEntity(TransactionRequestDTO requestDTO) {
+        Transaction transaction = new Transaction();
+        transaction.setType(requestDTO.getType());
+        transaction.setAmount(requestDTO.getAmount());
+        transaction.setCategory(requestDTO.getCategory());
+        transaction.setDivision(requestDTO.getDivision());
+        transaction.setDescription(requestDTO.getDescription());
+        transaction.setTransactionDate(requestDTO.getTransactionDate());
+        transaction.setFromAccount(requestDTO.getFromAccount());
+        transaction.setToAccount(requestDTO.getToAccount());
+        transaction.setIsEditable(true);
+        return transaction;
+    }
+    
+    TransactionDTO convertToDTO(Transaction transaction, LocalDateTime cutoff) {
         TransactionDTO dto = new TransactionDTO();
         dto.setId(transaction.getId());
         dto.setType(transaction.getType());
@@ -229,7 +389,7 @@ public class TransactionService {
         dto.setToAccount(transaction.getToAccount());
         dto.setCreatedAt(transaction.getCreatedAt());
         dto.setUpdatedAt(transaction.getUpdatedAt());
-        dto.setIsEditable(isEditable(transaction));
+        dto.setIsEditable(isEditable(transaction, cutoff));
         return dto;
     }
 }
@@ -0,0 +1,13 @@
+-- Optimistic-lock version for atomic balance updates, and the per-day rollup table maintained on every write.
+-- Kept out of V1 so databases baselined at V1 still receive them.
+ALTER TABLE accounts ADD version NUMBER(19) DEFAULT 0 NOT NULL;
+
+CREATE TABLE daily_rollups (
+    rollup_day DATE NOT NULL,
+    type VARCHAR2(50) NOT NULL,
+    division VARCHAR2(50) NOT NULL,
+    category VARCHAR2(255) NOT NULL,
+    total_amount NUMBER(19,2) NOT NULL,
+    transaction_count NUMBER(19) NOT NULL,
+    CONSTRAINT pk_daily_rollups PRIMARY KEY (rollup_day, type, division, category)
+);
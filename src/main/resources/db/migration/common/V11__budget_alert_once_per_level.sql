@@ -0,0 +1,10 @@
+-- One alert per budget, month and level, however many instances or reseeds see the line being crossed.
+-- Repeats already recorded are dropped first, keeping the earliest.
+DELETE FROM budget_alerts a
+WHERE EXISTS (SELECT 1 FROM budget_alerts b
+              WHERE b.budget_id = a.budget_id
+                AND b.budget_month = a.budget_month
+                AND b.alert_level = a.alert_level
+                AND b.id < a.id);
+
+ALTER TABLE budget_alerts ADD CONSTRAINT uk_budget_alerts_level UNIQUE (budget_id, budget_month, alert_level);
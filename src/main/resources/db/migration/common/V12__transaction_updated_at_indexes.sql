@@ -0,0 +1,4 @@
+-- The search index catches up on rows updated since its last commit (see TransactionSearchService).
+-- On Oracle the hot-table index is global, maintained by the archiver's exchange like the other global indexes.
+CREATE INDEX idx_transaction_updated_at ON transactions(updated_at);
+CREATE INDEX idx_transactions_archive_updated_at ON transactions_archive(updated_at);
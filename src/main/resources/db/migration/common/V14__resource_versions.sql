@@ -0,0 +1,10 @@
+-- Version stamps behind the ETag and Last-Modified headers (see ResourceVersions). Every write transaction bumps its
+-- resource's row before committing, so all instances answer conditional GETs from the same version.
+CREATE TABLE resource_versions (
+    resource_name VARCHAR2(30) PRIMARY KEY,
+    version NUMBER(19) DEFAULT 0 NOT NULL,
+    last_modified TIMESTAMP NOT NULL
+);
+
+INSERT INTO resource_versions (resource_name, version, last_modified) VALUES ('TRANSACTIONS', 0, LOCALTIMESTAMP);
+INSERT INTO resource_versions (resource_name, version, last_modified) VALUES ('ACCOUNTS', 0, LOCALTIMESTAMP);
@@ -0,0 +1,41 @@
+-- Balance history is keyed by the date a change takes effect, a transaction's transaction_date or an account's
+-- creation, rather than by when it was posted. V4 started the history with one opening entry at the time it ran;
+-- the ledger is rebuilt here from the transactions themselves, and checkpoints are taken again by the next run.
+ALTER TABLE account_balance_ledger RENAME COLUMN posted_at TO effective_at;
+ALTER INDEX idx_balance_ledger_account_posted RENAME TO idx_balance_ledger_account_effective;
+
+DELETE FROM account_balance_checkpoints;
+DELETE FROM account_balance_ledger;
+
+-- Expenses and transfers take money out of from_account, income and transfers put it into to_account. Changes still
+-- waiting in the write journal are not in the balances yet and are recorded when projected, so they are taken back.
+INSERT INTO account_balance_ledger (id, account_id, delta, effective_at)
+SELECT ACCOUNT_BALANCE_LEDGER_SEQ.NEXTVAL, account_id, delta, effective_at FROM (
+    SELECT a.id AS account_id, -t.amount AS delta, t.transaction_date AS effective_at
+    FROM transaction_ledger t JOIN accounts a ON a.account_name = t.from_account
+    WHERE t.type IN ('EXPENSE', 'TRANSFER')
+    UNION ALL
+    SELECT a.id, t.amount, t.transaction_date
+    FROM transaction_ledger t JOIN accounts a ON a.account_name = t.to_account
+    WHERE t.type IN ('INCOME', 'TRANSFER')
+    UNION ALL
+    SELECT a.id, j.sign * j.amount, j.transaction_date
+    FROM transaction_journal j JOIN accounts a ON a.account_name = j.from_account
+    WHERE j.type IN ('EXPENSE', 'TRANSFER')
+    UNION ALL
+    SELECT a.id, -j.sign * j.amount, j.transaction_date
+    FROM transaction_journal j JOIN accounts a ON a.account_name = j.to_account
+    WHERE j.type IN ('INCOME', 'TRANSFER')
+);
+
+-- Whatever the transactions do not explain, the opening balance, becomes one entry at the account's creation, or at
+-- its first transaction when that is dated earlier
+INSERT INTO account_balance_ledger (id, account_id, delta, effective_at)
+SELECT ACCOUNT_BALANCE_LEDGER_SEQ.NEXTVAL, id, opening, opened_at FROM (
+    SELECT a.id, a.balance - COALESCE(s.total, 0) AS opening,
+           CASE WHEN s.first_at < a.created_at THEN s.first_at ELSE a.created_at END AS opened_at
+    FROM accounts a
+    LEFT JOIN (SELECT account_id, SUM(delta) AS total, MIN(effective_at) AS first_at
+               FROM account_balance_ledger GROUP BY account_id) s ON s.account_id = a.id
+)
+WHERE opening <> 0;
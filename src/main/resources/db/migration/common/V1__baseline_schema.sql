@@ -0,0 +1,44 @@
+-- Money Manager baseline schema (Oracle, also runs on H2 in Oracle mode).
+-- Databases created before Flyway was introduced are baselined at this version.
+
+CREATE SEQUENCE TRANSACTION_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE SEQUENCE ACCOUNT_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE accounts (
+    id NUMBER(19) PRIMARY KEY,
+    account_name VARCHAR2(255) NOT NULL UNIQUE,
+    balance NUMBER(15,2) NOT NULL,
+    account_type VARCHAR2(50) NOT NULL CHECK (account_type IN ('CASH', 'BANK', 'CREDIT_CARD', 'WALLET')),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE transactions (
+    id NUMBER(19) PRIMARY KEY,
+    type VARCHAR2(50) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE', 'TRANSFER')),
+    amount NUMBER(15,2) NOT NULL,
+    category VARCHAR2(255),
+    division VARCHAR2(50) CHECK (division IN ('OFFICE', 'PERSONAL')),
+    description VARCHAR2(500) NOT NULL,
+    transaction_date TIMESTAMP NOT NULL,
+    from_account VARCHAR2(255),
+    to_account VARCHAR2(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    is_editable NUMBER(1) DEFAULT 1 NOT NULL
+);
+
+CREATE INDEX idx_transaction_date ON transactions(transaction_date);
+CREATE INDEX idx_transaction_type ON transactions(type);
+CREATE INDEX idx_transaction_category ON transactions(category);
+CREATE INDEX idx_transaction_division ON transactions(division);
+CREATE INDEX idx_account_name ON accounts(account_name);
@@ -0,0 +1,2 @@
+-- Transaction ids are allocated 50 at a time (allocationSize = 50 on Transaction)
+ALTER SEQUENCE TRANSACTION_SEQ INCREMENT BY 50;
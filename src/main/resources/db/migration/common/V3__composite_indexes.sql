@@ -0,0 +1,15 @@
+-- Every filtered listing and report filters on one column plus a transaction_date range,
+-- so the date is the second key column and the range is read straight off the index.
+CREATE INDEX idx_transaction_type_date ON transactions(type, transaction_date);
+CREATE INDEX idx_transaction_division_date ON transactions(division, transaction_date);
+CREATE INDEX idx_transaction_category_date ON transactions(category, transaction_date);
+
+-- Covers SELECT DISTINCT category ... WHERE type = ? without touching the table
+CREATE INDEX idx_transaction_type_category ON transactions(type, category);
+
+-- Keyset pages order by (transaction_date DESC, id DESC)
+CREATE INDEX idx_transaction_date_id ON transactions(transaction_date, id);
+
+-- Backs the editability sweep (is_editable = 1 AND created_at <= ?)
+CREATE INDEX idx_transaction_editable ON transactions(is_editable, created_at);
+
@@ -0,0 +1,27 @@
+-- Append-only record of every balance change, plus periodic per-account snapshots of the running balance.
+-- A point-in-time balance is the nearest checkpoint at or before the instant plus the ledger rows after it.
+CREATE SEQUENCE ACCOUNT_BALANCE_LEDGER_SEQ
+    START WITH 1
+    INCREMENT BY 50
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE account_balance_ledger (
+    id NUMBER(19) PRIMARY KEY,
+    account_id NUMBER(19) NOT NULL REFERENCES accounts(id) ON DELETE CASCADE,
+    delta NUMBER(19,2) NOT NULL,
+    posted_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE account_balance_checkpoints (
+    account_id NUMBER(19) NOT NULL REFERENCES accounts(id) ON DELETE CASCADE,
+    checkpoint_at TIMESTAMP NOT NULL,
+    balance NUMBER(19,2) NOT NULL,
+    CONSTRAINT pk_account_balance_checkpoints PRIMARY KEY (account_id, checkpoint_at)
+);
+
+CREATE INDEX idx_balance_ledger_account_posted ON account_balance_ledger(account_id, posted_at);
+
+-- History starts here: existing balances become each account's opening ledger entry
+INSERT INTO account_balance_ledger (id, account_id, delta, posted_at)
+SELECT ACCOUNT_BALANCE_LEDGER_SEQ.NEXTVAL, id, balance, LOCALTIMESTAMP FROM accounts;
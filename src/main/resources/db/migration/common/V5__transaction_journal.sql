@@ -0,0 +1,21 @@
+-- Write journal: one row per change to a transaction's effect on balances, rollups and caches,
+-- written in the same database transaction as the transactions row and deleted once projected.
+CREATE SEQUENCE TRANSACTION_JOURNAL_SEQ
+    START WITH 1
+    INCREMENT BY 50
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE transaction_journal (
+    sequence_no NUMBER(19) PRIMARY KEY,
+    transaction_id NUMBER(19) NOT NULL,
+    sign NUMBER(1) NOT NULL CHECK (sign IN (-1, 1)),
+    type VARCHAR2(50) NOT NULL,
+    amount NUMBER(15,2) NOT NULL,
+    category VARCHAR2(255) NOT NULL,
+    division VARCHAR2(50) NOT NULL,
+    transaction_date TIMESTAMP NOT NULL,
+    from_account VARCHAR2(255),
+    to_account VARCHAR2(255),
+    recorded_at TIMESTAMP NOT NULL
+);
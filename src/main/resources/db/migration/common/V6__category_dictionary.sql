@@ -0,0 +1,61 @@
+-- Categories become a dictionary: transactions and daily_rollups carry a numeric category_id instead of the name.
+CREATE SEQUENCE CATEGORY_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE categories (
+    id NUMBER(19) PRIMARY KEY,
+    name VARCHAR2(255) NOT NULL UNIQUE
+);
+
+-- Which transaction types each category has been used with (serves GET /api/transactions/categories)
+CREATE TABLE category_types (
+    category_id NUMBER(19) NOT NULL REFERENCES categories(id),
+    type VARCHAR2(50) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE', 'TRANSFER')),
+    CONSTRAINT pk_category_types PRIMARY KEY (category_id, type)
+);
+
+UPDATE transactions SET category = 'Uncategorized' WHERE category IS NULL;
+
+INSERT INTO categories (id, name)
+SELECT CATEGORY_SEQ.NEXTVAL, name FROM (SELECT DISTINCT category AS name FROM transactions);
+
+INSERT INTO category_types (category_id, type)
+SELECT DISTINCT c.id, t.type FROM transactions t JOIN categories c ON c.name = t.category;
+
+ALTER TABLE transactions ADD category_id NUMBER(19);
+
+UPDATE transactions t SET category_id = (SELECT c.id FROM categories c WHERE c.name = t.category);
+
+ALTER TABLE transactions MODIFY category_id NUMBER(19) NOT NULL;
+
+ALTER TABLE transactions ADD CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories(id);
+
+DROP INDEX idx_transaction_category;
+DROP INDEX idx_transaction_category_date;
+DROP INDEX idx_transaction_type_category;
+
+ALTER TABLE transactions DROP COLUMN category;
+
+CREATE INDEX idx_transaction_category_date ON transactions(category_id, transaction_date);
+CREATE INDEX idx_transaction_type_category ON transactions(type, category_id);
+
+-- Rollups are derived data: rebuild them keyed by category_id
+DROP TABLE daily_rollups;
+
+CREATE TABLE daily_rollups (
+    rollup_day DATE NOT NULL,
+    type VARCHAR2(50) NOT NULL,
+    division VARCHAR2(50) NOT NULL,
+    category_id NUMBER(19) NOT NULL,
+    total_amount NUMBER(19,2) NOT NULL,
+    transaction_count NUMBER(19) NOT NULL,
+    CONSTRAINT pk_daily_rollups PRIMARY KEY (rollup_day, type, division, category_id)
+);
+
+INSERT INTO daily_rollups (rollup_day, type, division, category_id, total_amount, transaction_count)
+SELECT TRUNC(transaction_date), type, division, category_id, SUM(amount), COUNT(*)
+FROM transactions
+GROUP BY TRUNC(transaction_date), type, division, category_id;
@@ -0,0 +1,35 @@
+-- Monthly expense budgets per category and division, and the alerts raised when spend crosses their thresholds
+CREATE SEQUENCE BUDGET_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE budgets (
+    id NUMBER(19) PRIMARY KEY,
+    category_id NUMBER(19) NOT NULL REFERENCES categories(id),
+    division VARCHAR2(50) NOT NULL CHECK (division IN ('OFFICE', 'PERSONAL')),
+    monthly_limit NUMBER(15,2) NOT NULL CHECK (monthly_limit > 0),
+    threshold_percent NUMBER(3) NOT NULL CHECK (threshold_percent BETWEEN 1 AND 100),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    CONSTRAINT uk_budgets_category_division UNIQUE (category_id, division)
+);
+
+CREATE SEQUENCE BUDGET_ALERT_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE budget_alerts (
+    id NUMBER(19) PRIMARY KEY,
+    budget_id NUMBER(19) NOT NULL REFERENCES budgets(id) ON DELETE CASCADE,
+    budget_month DATE NOT NULL,
+    alert_level VARCHAR2(20) NOT NULL CHECK (alert_level IN ('THRESHOLD', 'EXCEEDED')),
+    spent_amount NUMBER(15,2) NOT NULL,
+    monthly_limit NUMBER(15,2) NOT NULL,
+    raised_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_budget_alerts_budget ON budget_alerts(budget_id, raised_at);
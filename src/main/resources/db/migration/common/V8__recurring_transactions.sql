@@ -0,0 +1,38 @@
+-- Recurring transaction templates, and the key that makes generating their occurrences idempotent
+CREATE SEQUENCE RECURRING_TEMPLATE_SEQ
+    START WITH 1
+    INCREMENT BY 1
+    NOCACHE
+    NOCYCLE;
+
+CREATE TABLE recurring_templates (
+    id NUMBER(19) PRIMARY KEY,
+    type VARCHAR2(50) NOT NULL CHECK (type IN ('INCOME', 'EXPENSE', 'TRANSFER')),
+    amount NUMBER(15,2) NOT NULL CHECK (amount > 0),
+    category_id NUMBER(19) NOT NULL REFERENCES categories(id),
+    division VARCHAR2(50) NOT NULL CHECK (division IN ('OFFICE', 'PERSONAL')),
+    description VARCHAR2(500) NOT NULL,
+    from_account VARCHAR2(255),
+    to_account VARCHAR2(255),
+    cron_expression VARCHAR2(120),
+    interval_seconds NUMBER(19) CHECK (interval_seconds > 0),
+    starts_at TIMESTAMP NOT NULL,
+    ends_at TIMESTAMP,
+    next_occurrence_at TIMESTAMP,
+    active NUMBER(1) DEFAULT 1 NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    version NUMBER(19) DEFAULT 0 NOT NULL,
+    CONSTRAINT ck_recurring_schedule CHECK (
+        (cron_expression IS NOT NULL AND interval_seconds IS NULL)
+        OR (cron_expression IS NULL AND interval_seconds IS NOT NULL))
+);
+
+CREATE INDEX idx_recurring_templates_due ON recurring_templates(active, next_occurrence_at);
+
+-- Generated transactions remember their template and occurrence; a second insert of the same occurrence fails.
+-- No foreign key: rows generated by a deleted template keep its (never reused) id, so their keys stay unique.
+ALTER TABLE transactions ADD recurring_template_id NUMBER(19);
+ALTER TABLE transactions ADD occurrence_at TIMESTAMP;
+
+CREATE UNIQUE INDEX uk_transactions_occurrence ON transactions(recurring_template_id, occurrence_at);
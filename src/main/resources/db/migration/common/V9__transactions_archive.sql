@@ -0,0 +1,32 @@
+-- Archive tier: whole months of immutable transactions move here from the hot table (see TransactionArchiver).
+-- is_editable is not kept: archived rows are always past the edit window.
+CREATE TABLE transactions_archive (
+    id NUMBER(19) PRIMARY KEY,
+    type VARCHAR2(50) NOT NULL,
+    amount NUMBER(15,2) NOT NULL,
+    category_id NUMBER(19) NOT NULL REFERENCES categories(id),
+    division VARCHAR2(50),
+    description VARCHAR2(500) NOT NULL,
+    transaction_date TIMESTAMP NOT NULL,
+    from_account VARCHAR2(255),
+    to_account VARCHAR2(255),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL,
+    recurring_template_id NUMBER(19),
+    occurrence_at TIMESTAMP,
+    archived_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_transactions_archive_date_id ON transactions_archive(transaction_date, id);
+CREATE INDEX idx_transactions_archive_type_date ON transactions_archive(type, transaction_date);
+CREATE INDEX idx_transactions_archive_category_date ON transactions_archive(category_id, transaction_date);
+
+-- Hot and archived rows as one read-only ledger; predicates are pushed into both branches
+CREATE VIEW transaction_ledger AS
+SELECT id, type, amount, category_id, division, description, transaction_date, from_account, to_account,
+       created_at, updated_at, is_editable, recurring_template_id, occurrence_at, 0 AS archived
+FROM transactions
+UNION ALL
+SELECT id, type, amount, category_id, division, description, transaction_date, from_account, to_account,
+       created_at, updated_at, 0 AS is_editable, recurring_template_id, occurrence_at, 1 AS archived
+FROM transactions_archive;
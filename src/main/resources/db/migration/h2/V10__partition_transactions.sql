@@ -0,0 +1,2 @@
+-- H2 has no table partitioning: the hot table stays a single heap here, and TransactionArchiver falls back to
+-- moving archived months with INSERT ... SELECT and DELETE. The Oracle counterpart partitions by month.
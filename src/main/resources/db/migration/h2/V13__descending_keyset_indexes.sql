@@ -0,0 +1,7 @@
+-- H2 only reads an index in ORDER BY order when the directions match, so the (transaction_date DESC, id DESC) keyset
+-- pages would otherwise read every row in range and sort them. Oracle scans the ascending indexes backwards instead.
+CREATE INDEX idx_transaction_date_id_desc ON transactions(transaction_date DESC, id DESC);
+CREATE INDEX idx_transaction_type_date_id_desc ON transactions(type, transaction_date DESC, id DESC);
+CREATE INDEX idx_transaction_division_date_id_desc ON transactions(division, transaction_date DESC, id DESC);
+CREATE INDEX idx_transaction_category_date_id_desc ON transactions(category_id, transaction_date DESC, id DESC);
+CREATE INDEX idx_transactions_archive_date_id_desc ON transactions_archive(transaction_date DESC, id DESC);
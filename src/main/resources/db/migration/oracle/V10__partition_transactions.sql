@@ -0,0 +1,43 @@
+-- Monthly interval partitioning of the hot table on transaction_date (Oracle 12.2+ online conversion).
+-- Date-range queries prune to the months they touch, and the archiver drops a whole month as one partition.
+-- Indexes keyed on the date become local (one small index per month); the rest stay global so lookups
+-- that do not filter on the date do not probe every partition.
+ALTER TABLE transactions MODIFY
+    PARTITION BY RANGE (transaction_date) INTERVAL (NUMTOYMINTERVAL(1, 'MONTH'))
+    (PARTITION p_initial VALUES LESS THAN (TIMESTAMP '1900-01-01 00:00:00'))
+    ONLINE
+    UPDATE INDEXES (
+        idx_transaction_date LOCAL,
+        idx_transaction_date_id LOCAL,
+        idx_transaction_type_date LOCAL,
+        idx_transaction_division_date LOCAL,
+        idx_transaction_category_date LOCAL,
+        idx_transaction_type GLOBAL,
+        idx_transaction_division GLOBAL,
+        idx_transaction_type_category GLOBAL,
+        idx_transaction_editable GLOBAL,
+        uk_transactions_occurrence GLOBAL
+    );
+
+-- Archived months are written once with direct-path inserts, so basic compression applies to them
+ALTER TABLE transactions_archive ROW STORE COMPRESS BASIC;
+
+-- Empty twin of one hot partition: the archiver swaps a month out through it with EXCHANGE PARTITION.
+-- FOR EXCHANGE copies the columns only; the exchange also needs the primary key to match.
+CREATE TABLE transactions_archive_staging FOR EXCHANGE WITH TABLE transactions;
+
+ALTER TABLE transactions_archive_staging ADD CONSTRAINT pk_transactions_archive_staging PRIMARY KEY (id);
+
+-- Rows swapped out of the hot table stay in the ledger while the archiver moves them on from staging
+CREATE OR REPLACE VIEW transaction_ledger AS
+SELECT id, type, amount, category_id, division, description, transaction_date, from_account, to_account,
+       created_at, updated_at, is_editable, recurring_template_id, occurrence_at, 0 AS archived
+FROM transactions
+UNION ALL
+SELECT id, type, amount, category_id, division, description, transaction_date, from_account, to_account,
+       created_at, updated_at, 0 AS is_editable, recurring_template_id, occurrence_at, 1 AS archived
+FROM transactions_archive
+UNION ALL
+SELECT id, type, amount, category_id, division, description, transaction_date, from_account, to_account,
+       created_at, updated_at, 0 AS is_editable, recurring_template_id, occurrence_at, 1 AS archived
+FROM transactions_archive_staging;
@@ -0,0 +1,109 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.config.CompactTransactionConverter;
+import com.moneymanager.model.Account;
+import com.moneymanager.service.AccountService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Each representation of a listing has its own strong ETag, taken from the type actually negotiated rather than from
+// the text of the Accept header, so a cache never answers 304 for a body in the other encoding. Versions live in the
+// database, so a write made through any instance invalidates them everywhere.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+    
+    private static final String PAGE = "/api/transactions/page";
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Test
+    void etagFollowsTheNegotiatedRepresentation() throws Exception {
+        String json = etag(get(PAGE).header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE), MediaType.APPLICATION_JSON);
+        String compact = etag(get(PAGE).header(HttpHeaders.ACCEPT, CompactTransactionConverter.MEDIA_TYPE_VALUE),
+            CompactTransactionConverter.MEDIA_TYPE);
+        
+        assertThat(compact).isNotEqualTo(json);
+        assertThat(etag(get(PAGE), MediaType.APPLICATION_JSON)).isEqualTo(json);
+        assertThat(etag(get(PAGE).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE), MediaType.APPLICATION_JSON)).isEqualTo(json);
+        // Named in the header, but JSON is preferred and written
+        assertThat(etag(get(PAGE).header(HttpHeaders.ACCEPT,
+            CompactTransactionConverter.MEDIA_TYPE_VALUE + ";q=0.5, " + MediaType.APPLICATION_JSON_VALUE), MediaType.APPLICATION_JSON))
+            .isEqualTo(json);
+    }
+    
+    @Test
+    void currentEtagIsOnlyNotModifiedForItsOwnRepresentation() throws Exception {
+        String compact = etag(get(PAGE).header(HttpHeaders.ACCEPT, CompactTransactionConverter.MEDIA_TYPE_VALUE),
+            CompactTransactionConverter.MEDIA_TYPE);
+        
+        mockMvc.perform(get(PAGE).header(HttpHeaders.ACCEPT, CompactTransactionConverter.MEDIA_TYPE_VALUE)
+                .header(HttpHeaders.IF_NONE_MATCH, compact))
+            .andExpect(status().isNotModified())
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+        mockMvc.perform(get(PAGE).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE).header(HttpHeaders.IF_NONE_MATCH, compact))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    // Another instance's write lands only in the database; this instance must stop answering 304 all the same
+    @Test
+    void writeOnAnotherInstanceInvalidatesTheEtag() throws Exception {
+        String before = etag(get(PAGE), MediaType.APPLICATION_JSON);
+        mockMvc.perform(get(PAGE).header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isNotModified());
+        
+        jdbcTemplate.update("UPDATE resource_versions SET version = version + 1 WHERE resource_name = 'TRANSACTIONS'");
+        
+        mockMvc.perform(get(PAGE).header(HttpHeaders.IF_NONE_MATCH, before))
+            .andExpect(status().isOk());
+        assertThat(etag(get(PAGE), MediaType.APPLICATION_JSON)).isNotEqualTo(before);
+    }
+    
+    @Test
+    void writeInvalidatesOnlyItsOwnResource() throws Exception {
+        String transactions = etag(get(PAGE), MediaType.APPLICATION_JSON);
+        String accounts = etag(get("/api/accounts"), MediaType.APPLICATION_JSON);
+        
+        accountService.createAccount("Cash Wallet " + UUID.randomUUID(), BigDecimal.ZERO, Account.AccountType.CASH);
+        
+        assertThat(etag(get(PAGE), MediaType.APPLICATION_JSON)).isEqualTo(transactions);
+        assertThat(etag(get("/api/accounts"), MediaType.APPLICATION_JSON)).isNotEqualTo(accounts);
+    }
+    
+    private String etag(MockHttpServletRequestBuilder request, MediaType expectedType) throws Exception {
+        MvcResult result = mockMvc.perform(request)
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(expectedType))
+            .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+            .andReturn();
+        return result.getResponse().getHeader(HttpHeaders.ETAG);
+    }
+}
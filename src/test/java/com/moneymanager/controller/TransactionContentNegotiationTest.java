@@ -0,0 +1,51 @@
+package com.moneymanager.controller;
+
+import com.moneymanager.config.CompactTransactionConverter;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// JSON stays the default for the listings that can also be written compactly: only a client naming the compact type
+// gets CBOR, while no Accept header or Accept: */* keeps the JSON existing clients read.
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransactionContentNegotiationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/transactions", "/api/transactions/page", "/api/transactions/search?q=rent"})
+    void listingsWithoutAnAcceptHeaderAreJson(String path) throws Exception {
+        mockMvc.perform(get(path))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/transactions", "/api/transactions/page", "/api/transactions/search?q=rent"})
+    void listingsForAnyTypeAreJson(String path) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, MediaType.ALL_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/transactions", "/api/transactions/page", "/api/transactions/search?q=rent"})
+    void listingsNamingTheCompactTypeAreCbor(String path) throws Exception {
+        mockMvc.perform(get(path).header(HttpHeaders.ACCEPT, CompactTransactionConverter.MEDIA_TYPE_VALUE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith(CompactTransactionConverter.MEDIA_TYPE));
+    }
+}
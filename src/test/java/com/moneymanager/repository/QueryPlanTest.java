@@ -0,0 +1,119 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.LedgerTransaction;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.service.CategoryDictionary;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs the filtered repository reads against H2, EXPLAINs the SQL Hibernate generated for each one and fails if the
+// plan scans a whole table. Unfiltered reads (findAll, the full listing, export without filters) scan by design.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+    + "com.moneymanager.repository.QueryPlanTest$CapturedStatements")
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CategoryDictionary.class)
+class QueryPlanTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2024, 2, 1, 0, 0);
+    private static final PageRequest PAGE = PageRequest.of(0, 50);
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+    
+    @Autowired
+    private LedgerTransactionRepository ledgerTransactionRepository;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void filteredTransactionReadsUseAnIndex() {
+        Map<String, Runnable> reads = new LinkedHashMap<>();
+        reads.put("findByTransactionDateBetween", () -> transactionRepository.findByTransactionDateBetween(START, END));
+        reads.put("findDtoById", () -> transactionRepository.findDtoById(1L, START));
+        reads.put("findDtosByIds", () -> transactionRepository.findDtosByIds(List.of(1L, 2L), START));
+        reads.put("findDtosByDateRange", () -> transactionRepository.findDtosByDateRange(START, END, START));
+        reads.put("findDtosByType", () -> transactionRepository.findDtosByType(Transaction.TransactionType.INCOME, START));
+        reads.put("findDtosByDivision", () -> transactionRepository.findDtosByDivision(Transaction.Division.OFFICE, START));
+        reads.put("findDtosByCategory", () -> transactionRepository.findDtosByCategory("Salary", START));
+        reads.put("findByTypeAndDateRange", () -> transactionRepository.findByTypeAndDateRange(Transaction.TransactionType.EXPENSE, START, END));
+        reads.put("findByDivisionAndDateRange", () -> transactionRepository.findByDivisionAndDateRange(Transaction.Division.PERSONAL, START, END));
+        reads.put("findByCategoryAndDateRange", () -> transactionRepository.findByCategoryAndDateRange("Salary", START, END));
+        reads.put("findPageBefore", () -> transactionRepository.findPageBefore(END, 100L, START, PAGE));
+        reads.put("findPageByDateRangeBefore", () -> transactionRepository.findPageByDateRangeBefore(START, END, END, 100L, START, PAGE));
+        reads.put("findPageByTypeBefore", () -> transactionRepository.findPageByTypeBefore(Transaction.TransactionType.INCOME, END, 100L, START, PAGE));
+        reads.put("findPageByDivisionBefore", () -> transactionRepository.findPageByDivisionBefore(Transaction.Division.OFFICE, END, 100L, START, PAGE));
+        reads.put("findPageByCategoryBefore", () -> transactionRepository.findPageByCategoryBefore("Salary", END, 100L, START, PAGE));
+        reads.put("sumByTypeAndCategory", () -> transactionRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END));
+        reads.put("sumByTypeAndCategoryUntil", () -> transactionRepository.sumByTypeAndCategoryUntil(TransactionReads.INCOME_AND_EXPENSE, START, END));
+        reads.put("sumExpensesByCategoryAndDivision", () -> transactionRepository.sumExpensesByCategoryAndDivision(Transaction.TransactionType.EXPENSE, START, END));
+        reads.put("sumExpenses", () -> transactionRepository.sumExpenses(Transaction.TransactionType.EXPENSE, "Salary", Transaction.Division.OFFICE, START, END));
+        reads.put("sumByDayTypeAndCategory", () -> transactionRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END));
+        reads.put("findRecentDtos", () -> transactionRepository.findRecentDtos(START, END, START, PAGE));
+        reads.put("countEditableCreatedAfter", () -> transactionRepository.countEditableCreatedAfter(START));
+        reads.put("findLatestEditableCreatedAtOrBefore", () -> transactionRepository.findLatestEditableCreatedAtOrBefore(START));
+        reads.put("dailyRollups.sumByTypeAndCategory", () -> dailyRollupRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START.toLocalDate(), LocalDate.of(2024, 1, 31)));
+        reads.put("dailyRollups.sumByDayTypeAndCategory", () -> dailyRollupRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START.toLocalDate(), END.toLocalDate()));
+        reads.put("ledger.streamUpdatedSince", () -> {
+            try (Stream<LedgerTransaction> rows = ledgerTransactionRepository.streamUpdatedSince(START)) {
+                rows.findFirst();
+            }
+        });
+        
+        List<String> fullScans = new ArrayList<>();
+        reads.forEach((name, read) -> {
+            CapturedStatements.STATEMENTS.clear();
+            read.run();
+            assertThat(CapturedStatements.STATEMENTS).as(name).isNotEmpty();
+            for (String sql : CapturedStatements.STATEMENTS) {
+                String plan = explain(sql);
+                if (plan.contains(".tableScan")) {
+                    fullScans.add(name + ":\n" + plan);
+                }
+            }
+        });
+        
+        assertThat(fullScans).as("repository reads planned as full scans").isEmpty();
+    }
+    
+    private String explain(String sql) {
+        // H2 plans a prepared statement without its parameters being bound
+        return jdbcTemplate.query(connection -> connection.prepareStatement("EXPLAIN " + sql),
+            (ResultSet rs) -> rs.next() ? rs.getString(1) : "");
+    }
+    
+    public static class CapturedStatements implements StatementInspector {
+        
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+        
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
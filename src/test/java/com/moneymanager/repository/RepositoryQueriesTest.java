@@ -0,0 +1,143 @@
+package com.moneymanager.repository;
+
+import com.moneymanager.model.Transaction;
+import com.moneymanager.service.CategoryDictionary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The aggregate queries bind the summed types as parameters; transfers and rows outside the range are left out.
+// Rows are dated 2019 so rows other tests post at the current date never fall in range.
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+@Import(CategoryDictionary.class)
+class RepositoryQueriesTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2019, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2019, 1, 31, 23, 59, 59);
+    private static final LocalDateTime END_EXCLUSIVE = LocalDateTime.of(2019, 2, 1, 0, 0);
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private LedgerTransactionRepository ledgerTransactionRepository;
+    
+    @Autowired
+    private DailyRollupRepository dailyRollupRepository;
+    
+    @Autowired
+    private CategoryDictionary categoryDictionary;
+    
+    @BeforeEach
+    void postJanuary() {
+        save(Transaction.TransactionType.INCOME, "Salary", "1000.00", Transaction.Division.OFFICE, START.plusDays(4));
+        save(Transaction.TransactionType.EXPENSE, "Food", "30.00", Transaction.Division.PERSONAL, START.plusDays(4).plusHours(10));
+        save(Transaction.TransactionType.EXPENSE, "Food", "20.00", Transaction.Division.PERSONAL, START.plusDays(5));
+        save(Transaction.TransactionType.EXPENSE, "Fuel", "15.00", Transaction.Division.OFFICE, START.plusDays(5));
+        save(Transaction.TransactionType.TRANSFER, "Transfer", "500.00", Transaction.Division.PERSONAL, START.plusDays(5));
+        save(Transaction.TransactionType.EXPENSE, "Food", "99.00", Transaction.Division.PERSONAL, END_EXCLUSIVE);
+        transactionRepository.flush();
+    }
+    
+    @Test
+    void typeAndCategorySumsLeaveOutTransfers() {
+        Map<String, BigDecimal> expected = Map.of(
+            "INCOME Salary", new BigDecimal("1000.00"),
+            "EXPENSE Food", new BigDecimal("50.00"),
+            "EXPENSE Fuel", new BigDecimal("15.00"));
+        
+        assertThat(totals(transactionRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END)))
+            .isEqualTo(expected);
+        assertThat(totals(transactionRepository.sumByTypeAndCategoryUntil(TransactionReads.INCOME_AND_EXPENSE, START, END_EXCLUSIVE)))
+            .isEqualTo(expected);
+        assertThat(totals(ledgerTransactionRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END)))
+            .isEqualTo(expected);
+        assertThat(totals(ledgerTransactionRepository.sumByTypeAndCategoryUntil(TransactionReads.INCOME_AND_EXPENSE, START, END_EXCLUSIVE)))
+            .isEqualTo(expected);
+        assertThat(totals(transactionRepository.sumByTypeAndCategory(List.of(Transaction.TransactionType.TRANSFER), START, END)))
+            .isEqualTo(Map.of("TRANSFER Transfer", new BigDecimal("500.00")));
+    }
+    
+    @Test
+    void expenseSumsGroupByCategoryAndDivision() {
+        Map<String, BigDecimal> spent = new TreeMap<>();
+        transactionRepository.sumExpensesByCategoryAndDivision(Transaction.TransactionType.EXPENSE, START, END_EXCLUSIVE)
+            .forEach(total -> spent.put(total.getCategory() + " " + total.getDivision(), total.getTotal().setScale(2)));
+        
+        assertThat(spent).isEqualTo(Map.of(
+            "Food PERSONAL", new BigDecimal("50.00"),
+            "Fuel OFFICE", new BigDecimal("15.00")));
+        assertThat(transactionRepository.sumExpenses(Transaction.TransactionType.EXPENSE, "Food",
+                Transaction.Division.PERSONAL, START, END_EXCLUSIVE))
+            .isEqualByComparingTo("50.00");
+        assertThat(transactionRepository.sumExpenses(Transaction.TransactionType.EXPENSE, "Salary",
+                Transaction.Division.OFFICE, START, END_EXCLUSIVE))
+            .isEqualByComparingTo("0");
+    }
+    
+    @Test
+    void dailySumsMatchOnTransactionsAndRollups() {
+        dailyRollupRepository.deleteAllRollups();
+        dailyRollupRepository.insertFromTransactions();
+        Map<String, BigDecimal> expected = Map.of(
+            "2019-01-05 INCOME Salary", new BigDecimal("1000.00"),
+            "2019-01-05 EXPENSE Food", new BigDecimal("30.00"),
+            "2019-01-06 EXPENSE Food", new BigDecimal("20.00"),
+            "2019-01-06 EXPENSE Fuel", new BigDecimal("15.00"));
+        
+        assertThat(dailyTotals(transactionRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END_EXCLUSIVE)))
+            .isEqualTo(expected);
+        assertThat(dailyTotals(ledgerTransactionRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE, START, END_EXCLUSIVE)))
+            .isEqualTo(expected);
+        assertThat(dailyTotals(dailyRollupRepository.sumByDayTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                START.toLocalDate(), END_EXCLUSIVE.toLocalDate())))
+            .isEqualTo(expected);
+        assertThat(totals(dailyRollupRepository.sumByTypeAndCategory(TransactionReads.INCOME_AND_EXPENSE,
+                START.toLocalDate(), LocalDate.of(2019, 1, 31))))
+            .isEqualTo(Map.of(
+                "INCOME Salary", new BigDecimal("1000.00"),
+                "EXPENSE Food", new BigDecimal("50.00"),
+                "EXPENSE Fuel", new BigDecimal("15.00")));
+    }
+    
+    private void save(Transaction.TransactionType type, String category, String amount, Transaction.Division division,
+                      LocalDateTime transactionDate) {
+        categoryDictionary.register(type, category);
+        Transaction transaction = new Transaction();
+        transaction.setType(type);
+        transaction.setCategory(category);
+        transaction.setAmount(new BigDecimal(amount));
+        transaction.setDivision(division);
+        transaction.setDescription(category + " on " + transactionDate.toLocalDate());
+        transaction.setTransactionDate(transactionDate);
+        transactionRepository.save(transaction);
+    }
+    
+    private static Map<String, BigDecimal> totals(List<TransactionRepository.CategoryTotal> totals) {
+        Map<String, BigDecimal> byKey = new TreeMap<>();
+        totals.forEach(total -> byKey.put(total.getType() + " " + total.getCategory(), total.getTotal().setScale(2)));
+        return byKey;
+    }
+    
+    private static Map<String, BigDecimal> dailyTotals(List<TransactionRepository.DailyCategoryTotal> totals) {
+        Map<String, BigDecimal> byKey = new TreeMap<>();
+        totals.forEach(total -> byKey.put(total.getDate() + " " + total.getType() + " " + total.getCategory(),
+            total.getTotal().setScale(2)));
+        return byKey;
+    }
+}
@@ -0,0 +1,93 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Many writers posting to one account at once: every delta lands exactly once. How the atomic UPDATE compares with
+// the entity read-modify-write it replaced is measured by AccountBalanceUpdateBenchmark, not here.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class AccountBalanceConcurrencyTest {
+    
+    private static final int WRITES = 300;
+    private static final int THREADS = 16;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Test
+    void parallelCreatesKeepTheBalanceExact() throws Exception {
+        String accountName = newAccount();
+        
+        run(() -> transactionService.createTransaction(income(accountName)));
+        
+        assertThat(balanceOf(accountName)).isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(WRITES)));
+    }
+    
+    @Test
+    void parallelAtomicUpdatesKeepTheBalanceExact() throws Exception {
+        String accountName = newAccount();
+        
+        run(() -> accountService.updateBalance(accountName, AMOUNT));
+        
+        assertThat(balanceOf(accountName)).isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(WRITES)));
+    }
+    
+    // Runs WRITES calls on THREADS threads
+    private void run(Runnable write) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(WRITES);
+            for (int i = 0; i < WRITES; i++) {
+                futures.add(executor.submit(write));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    private String newAccount() {
+        String accountName = "Cash Wallet " + UUID.randomUUID();
+        accountService.createAccount(accountName, BigDecimal.ZERO, Account.AccountType.CASH);
+        return accountName;
+    }
+    
+    private BigDecimal balanceOf(String accountName) {
+        return accountService.getAccountByName(accountName).getBalance();
+    }
+    
+    private static TransactionRequestDTO income(String accountName) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setType(Transaction.TransactionType.INCOME);
+        request.setAmount(AMOUNT);
+        request.setCategory("Salary");
+        request.setDivision(Transaction.Division.PERSONAL);
+        request.setDescription("Concurrent post");
+        request.setTransactionDate(LocalDateTime.now());
+        request.setToAccount(accountName);
+        return request;
+    }
+}
@@ -0,0 +1,72 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Balance history follows transaction dates: a backdated expense shows from its own date on, and one dated before the
+// latest checkpoint moves that checkpoint too. Expenses are dated 2019, long before the account is opened.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class AccountBalanceHistoryTest {
+    
+    private static final LocalDateTime JUNE = LocalDateTime.of(2019, 6, 1, 12, 0);
+    private static final LocalDateTime JULY = LocalDateTime.of(2019, 7, 1, 12, 0);
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountBalanceHistoryService balanceHistoryService;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Test
+    void backdatedChangesCountFromTheirTransactionDate() {
+        String account = "Savings " + UUID.randomUUID();
+        accountService.createAccount(account, new BigDecimal("100.00"), Account.AccountType.BANK);
+        
+        transactionService.createTransaction(expense(account, "30.00", JUNE));
+        assertThat(balanceAt(account, JUNE.minusDays(1))).isEqualByComparingTo("0.00");
+        assertThat(balanceAt(account, JUNE.plusDays(1))).isEqualByComparingTo("-30.00");
+        
+        // The checkpoint trails the clock, so it holds the expense but not the opening balance recorded just now
+        balanceHistoryService.checkpoint();
+        assertThat(latestCheckpoint(account)).isEqualByComparingTo("-30.00");
+        
+        transactionService.createTransaction(expense(account, "20.00", JULY));
+        assertThat(latestCheckpoint(account)).isEqualByComparingTo("-50.00");
+        assertThat(balanceAt(account, JULY.minusDays(1))).isEqualByComparingTo("-30.00");
+        assertThat(balanceAt(account, LocalDateTime.now().plusMinutes(1))).isEqualByComparingTo("50.00");
+    }
+    
+    private BigDecimal balanceAt(String account, LocalDateTime at) {
+        return balanceHistoryService.getBalanceAt(account, at).getBalance();
+    }
+    
+    private BigDecimal latestCheckpoint(String account) {
+        return jdbcTemplate.queryForObject(
+            "SELECT c.balance FROM account_balance_checkpoints c JOIN accounts a ON a.id = c.account_id " +
+            "WHERE a.account_name = ? ORDER BY c.checkpoint_at DESC FETCH FIRST 1 ROWS ONLY", BigDecimal.class, account);
+    }
+    
+    private static TransactionRequestDTO expense(String account, String amount, LocalDateTime transactionDate) {
+        return new TransactionRequestDTO(Transaction.TransactionType.EXPENSE, new BigDecimal(amount), "Fees",
+            Transaction.Division.PERSONAL, "Fees on " + transactionDate.toLocalDate(), transactionDate, account, null);
+    }
+}
@@ -0,0 +1,129 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.BudgetDTO;
+import com.moneymanager.dto.BudgetRequestDTO;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.BudgetAlert;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.BudgetAlertRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Expenses posted from many threads while the counters are reseeded over and over: every write is counted exactly
+// once, and each alert level is stored once for the month even when it is raised again.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class BudgetTrackerConcurrencyTest {
+    
+    private static final int WRITES = 400;
+    private static final int THREADS = 16;
+    private static final BigDecimal AMOUNT = new BigDecimal("1.25");
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private BudgetService budgetService;
+    
+    @Autowired
+    private BudgetTracker budgetTracker;
+    
+    @Autowired
+    private BudgetAlertListener budgetAlertListener;
+    
+    @Autowired
+    private BudgetAlertRepository budgetAlertRepository;
+    
+    @Test
+    void reseedsDuringWritesNeitherLoseNorDoubleCount() throws Exception {
+        String accountName = "Cash Wallet " + UUID.randomUUID();
+        accountService.createAccount(accountName, new BigDecimal("100000.00"), Account.AccountType.CASH);
+        String category = "Fuel " + UUID.randomUUID();
+        BudgetDTO budget = budgetService.createBudget(
+            new BudgetRequestDTO(category, Transaction.Division.OFFICE, new BigDecimal("400.00"), 80));
+        
+        AtomicBoolean writing = new AtomicBoolean(true);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS + 1);
+        try {
+            Future<?> reseeds = executor.submit(() -> {
+                while (writing.get()) {
+                    budgetTracker.reseed();
+                }
+            });
+            List<Future<?>> futures = new ArrayList<>(WRITES);
+            for (int i = 0; i < WRITES; i++) {
+                futures.add(executor.submit(() -> transactionService.createTransaction(expense(accountName, category))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            writing.set(false);
+            reseeds.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        
+        assertThat(budgetTracker.spent(category, Transaction.Division.OFFICE))
+            .isEqualByComparingTo(AMOUNT.multiply(BigDecimal.valueOf(WRITES)));
+        
+        // A second instance, or a reseed that moved the total back under the line, raises the same level again
+        budgetAlertListener.onBudgetAlert(new BudgetAlertEvent(budget.getId(), category, Transaction.Division.OFFICE,
+            YearMonth.now(), BudgetAlert.Level.EXCEEDED, new BigDecimal("500.00"), new BigDecimal("400.00"),
+            LocalDateTime.now()));
+        
+        List<BudgetAlert> alerts = awaitAlerts(budget.getId(), 2);
+        assertThat(alerts).extracting(BudgetAlert::getLevel)
+            .containsExactlyInAnyOrder(BudgetAlert.Level.THRESHOLD, BudgetAlert.Level.EXCEEDED);
+        
+        // A repeat, or an alert for a budget deleted since, inserts nothing rather than failing on a constraint
+        assertThat(budgetAlertRepository.insertIfAbsent(budget.getId(), YearMonth.now().atDay(1),
+            BudgetAlert.Level.EXCEEDED.name(), new BigDecimal("500.00"), new BigDecimal("400.00"), LocalDateTime.now()))
+            .isZero();
+        assertThat(budgetAlertRepository.insertIfAbsent(-1L, YearMonth.now().atDay(1),
+            BudgetAlert.Level.EXCEEDED.name(), new BigDecimal("500.00"), new BigDecimal("400.00"), LocalDateTime.now()))
+            .isZero();
+    }
+    
+    // Alerts are stored by the async listener; waits for them, then a little longer for any repeat
+    private List<BudgetAlert> awaitAlerts(Long budgetId, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (budgetAlertRepository.findByBudgetIdOrderByRaisedAtDesc(budgetId, Pageable.unpaged()).size() < expected
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        Thread.sleep(500);
+        return budgetAlertRepository.findByBudgetIdOrderByRaisedAtDesc(budgetId, Pageable.unpaged());
+    }
+    
+    private static TransactionRequestDTO expense(String accountName, String category) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setType(Transaction.TransactionType.EXPENSE);
+        request.setAmount(AMOUNT);
+        request.setCategory(category);
+        request.setDivision(Transaction.Division.OFFICE);
+        request.setDescription("Concurrent expense");
+        request.setTransactionDate(LocalDateTime.now());
+        request.setFromAccount(accountName);
+        return request;
+    }
+}
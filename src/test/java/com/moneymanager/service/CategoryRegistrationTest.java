@@ -0,0 +1,66 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.exception.ResourceNotFoundException;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// New category names are registered in the write's own transaction, so a rejected write leaves none behind, and the
+// categories listing only names categories something still uses.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class CategoryRegistrationTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rejectedWriteRegistersNoCategory() {
+        String category = "Gifts " + UUID.randomUUID();
+
+        assertThatThrownBy(() -> transactionService.createTransaction(
+                expense(category, "Missing " + UUID.randomUUID())))
+            .isInstanceOf(ResourceNotFoundException.class);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories WHERE name = ?", Long.class, category))
+            .isZero();
+        assertThat(transactionService.getCategories(Transaction.TransactionType.EXPENSE)).doesNotContain(category);
+    }
+
+    @Test
+    void editedAwayCategoryLeavesTheListing() {
+        String before = "Groceries " + UUID.randomUUID();
+        String after = "Dining " + UUID.randomUUID();
+
+        TransactionDTO posted = transactionService.createTransaction(expense(before, null));
+        assertThat(posted.getCategory()).isEqualTo(before);
+        assertThat(transactionService.getCategories(Transaction.TransactionType.EXPENSE)).contains(before);
+
+        TransactionDTO edited = transactionService.updateTransaction(posted.getId(), expense(after, null));
+
+        assertThat(edited.getCategory()).isEqualTo(after);
+        assertThat(transactionService.getCategories(Transaction.TransactionType.EXPENSE))
+            .contains(after)
+            .doesNotContain(before);
+    }
+
+    private static TransactionRequestDTO expense(String category, String fromAccount) {
+        return new TransactionRequestDTO(Transaction.TransactionType.EXPENSE, new BigDecimal("12.00"), category,
+            Transaction.Division.PERSONAL, category, LocalDateTime.now(), fromAccount, null);
+    }
+}
@@ -0,0 +1,49 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// In journal mode a cached dashboard is evicted when the write commits, not only once the projector gets to it. The
+// projector is held back for the test, and the expense is dated 2017 so no other test's dashboard covers it.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = {
+    "moneymanager.journal.mode=JOURNAL",
+    "moneymanager.journal.projection-interval=PT1H"
+})
+@ActiveProfiles("test")
+class JournalDashboardCacheTest {
+    
+    private static final LocalDateTime START = LocalDateTime.of(2017, 2, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(2017, 2, 28, 23, 59, 59);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionJournalProjector transactionJournalProjector;
+    
+    @Test
+    void writeEvictsTheDashboardBeforeItIsProjected() {
+        String category = "Travel " + UUID.randomUUID();
+        assertThat(transactionService.getDashboardSummary(START, END).getCategoryWiseExpense()).doesNotContainKey(category);
+        
+        transactionService.createTransaction(new TransactionRequestDTO(Transaction.TransactionType.EXPENSE,
+            new BigDecimal("64.00"), category, Transaction.Division.PERSONAL, category, START.plusDays(9), null, null));
+        
+        assertThat(transactionService.getDashboardSummary(START, END).getCategoryWiseExpense().get(category))
+            .isEqualByComparingTo("64.00");
+        
+        transactionJournalProjector.project();
+        assertThat(transactionService.getDashboardSummary(START, END).getCategoryWiseExpense().get(category))
+            .isEqualByComparingTo("64.00");
+    }
+}
@@ -0,0 +1,88 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneymanager.dto.DashboardSummaryDTO;
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A range split between the archive and the hot table: the export and the dashboard check both read the ledger, so
+// archived rows are exported and the check agrees with the aggregate. Rows are dated 2018, long before the hot months.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class TransactionArchiveReadsTest {
+    
+    private static final YearMonth ARCHIVED = YearMonth.of(2018, 3);
+    private static final LocalDateTime START = ARCHIVED.atDay(1).atStartOfDay();
+    private static final LocalDateTime END = ARCHIVED.plusMonths(1).atEndOfMonth().atTime(23, 59, 59);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Autowired
+    private TransactionArchiver transactionArchiver;
+    
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void exportAndDashboardCheckIncludeArchivedRows() throws Exception {
+        String category = "Rent " + UUID.randomUUID();
+        List<TransactionDTO> posted = transactionService.createTransactions(List.of(
+            expense(category, "400.00", START.plusDays(2)),
+            expense(category, "25.50", START.plusDays(20)),
+            expense(category, "410.00", START.plusMonths(1).plusDays(2))));
+        List<Long> ids = posted.stream().map(TransactionDTO::getId).toList();
+        
+        // Created long enough ago to be archived; only March moves, April stays hot
+        jdbcTemplate.update("UPDATE transactions SET created_at = ? WHERE transaction_date >= ? AND transaction_date <= ?",
+            Timestamp.valueOf(START), Timestamp.valueOf(START), Timestamp.valueOf(END));
+        transactionArchiver.archiveMonth(ARCHIVED, Timestamp.valueOf(TransactionService.editCutoff()));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions_archive WHERE id IN (?, ?)",
+            Long.class, ids.get(0), ids.get(1))).isEqualTo(2L);
+        
+        assertThat(export(category)).extracting(TransactionDTO::getId).containsExactlyElementsOf(ids);
+        
+        DashboardSummaryDTO summary = transactionService.aggregateDashboardSummary(START, END);
+        assertThat(summary.getCategoryWiseExpense().get(category)).isEqualByComparingTo("835.50");
+        assertThat(transactionService.verifyAgainstInMemorySummary(summary, START, END)).isTrue();
+    }
+    
+    private List<TransactionDTO> export(String category) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(TransactionExportService.ExportFormat.NDJSON, START, END, null, null, category, out);
+        List<TransactionDTO> rows = new ArrayList<>();
+        for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+            rows.add(objectMapper.readValue(line, TransactionDTO.class));
+        }
+        return rows;
+    }
+    
+    private static TransactionRequestDTO expense(String category, String amount, LocalDateTime transactionDate) {
+        return new TransactionRequestDTO(Transaction.TransactionType.EXPENSE, new BigDecimal(amount), category,
+            Transaction.Division.PERSONAL, category + " on " + transactionDate.toLocalDate(), transactionDate, null, null);
+    }
+}
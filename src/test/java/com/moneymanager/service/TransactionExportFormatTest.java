@@ -0,0 +1,56 @@
+package com.moneymanager.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Transaction;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// CSV and NDJSON exports write dates in the same text. The transaction is dated on a whole minute, which
+// LocalDateTime.toString would shorten by dropping the seconds.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class TransactionExportFormatTest {
+    
+    private static final LocalDateTime TRANSACTION_DATE = LocalDateTime.of(2018, 5, 1, 9, 30);
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private TransactionExportService transactionExportService;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Test
+    void csvDatesMatchTheJsonSerialization() throws Exception {
+        String category = "Books " + UUID.randomUUID();
+        transactionService.createTransaction(new TransactionRequestDTO(Transaction.TransactionType.EXPENSE,
+            new BigDecimal("18.00"), category, Transaction.Division.PERSONAL, category, TRANSACTION_DATE, null, null));
+        
+        String[] csvRow = export(TransactionExportService.ExportFormat.CSV, category).split("\n")[1].split(",");
+        JsonNode jsonRow = objectMapper.readTree(export(TransactionExportService.ExportFormat.NDJSON, category));
+        
+        assertThat(csvRow[6]).isEqualTo("2018-05-01T09:30:00").isEqualTo(jsonRow.get("transactionDate").asText());
+        assertThat(csvRow[9]).isEqualTo(jsonRow.get("createdAt").asText());
+        assertThat(csvRow[10]).isEqualTo(jsonRow.get("updatedAt").asText());
+    }
+    
+    private String export(TransactionExportService.ExportFormat format, String category) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transactionExportService.export(format, TRANSACTION_DATE, TRANSACTION_DATE, null, null, category, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,75 @@
+package com.moneymanager.service;
+
+import com.moneymanager.dto.TransactionDTO;
+import com.moneymanager.dto.TransactionRequestDTO;
+import com.moneymanager.model.Account;
+import com.moneymanager.model.Transaction;
+import com.moneymanager.repository.TransactionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// A row written straight to the database stands in for a write made on another instance: it is not searchable here
+// until the catch-up reads it back past the index's high-water mark.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles("test")
+class TransactionSearchCatchUpTest {
+    
+    @Autowired
+    private TransactionSearchService transactionSearchService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private AccountService accountService;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Test
+    void catchUpIndexesRowsWrittenElsewhere() throws Exception {
+        String accountName = "Cash Wallet " + UUID.randomUUID();
+        accountService.createAccount(accountName, BigDecimal.ZERO, Account.AccountType.CASH);
+        String localWord = "local" + UUID.randomUUID().toString().replace("-", "");
+        String remoteWord = "remote" + UUID.randomUUID().toString().replace("-", "");
+        
+        TransactionDTO local = transactionService.createTransaction(income(accountName, localWord));
+        Transaction remote = new Transaction();
+        remote.setType(Transaction.TransactionType.INCOME);
+        remote.setAmount(new BigDecimal("10.00"));
+        remote.setCategory("Salary");
+        remote.setDivision(Transaction.Division.PERSONAL);
+        remote.setDescription("Posted by " + remoteWord);
+        remote.setTransactionDate(LocalDateTime.now());
+        remote.setToAccount(accountName);
+        remote = transactionRepository.save(remote);
+        
+        transactionSearchService.refresh();
+        assertThat(transactionSearchService.searchIds(localWord, null, null, null, null, 10)).containsExactly(local.getId());
+        assertThat(transactionSearchService.searchIds(remoteWord, null, null, null, null, 10)).isEmpty();
+        
+        assertThat(transactionSearchService.catchUp()).isPositive();
+        transactionSearchService.refresh();
+        assertThat(transactionSearchService.searchIds(remoteWord, null, null, null, null, 10)).containsExactly(remote.getId());
+    }
+    
+    private static TransactionRequestDTO income(String accountName, String word) {
+        TransactionRequestDTO request = new TransactionRequestDTO();
+        request.setType(Transaction.TransactionType.INCOME);
+        request.setAmount(new BigDecimal("10.00"));
+        request.setCategory("Salary");
+        request.setDivision(Transaction.Division.PERSONAL);
+        request.setDescription("Posted by " + word);
+        request.setTransactionDate(LocalDateTime.now());
+        request.setToAccount(accountName);
+        return request;
+    }
+}